@@ -0,0 +1,82 @@
+package io.mygame.benchmark.jmh;
+
+import io.mygame.common.AnimationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the animation lookup every entity does each frame: {@link AnimationLoader#setCurrentAnimation}
+ * switches on the animation name, so the cost grows with the number of characters on screen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimationBenchmark {
+    /************ ANIMATIONS ************/
+    private static final String SPRITE_SHEET = "sprites/CollegeMale1.png";
+    private static final String[] NAMES = {
+        "frontIdle", "rightIdle", "leftIdle", "backIdle", "frontWalk", "rightWalk", "leftWalk", "backWalk"
+    };
+
+    /************ WORLD SIZE ************/
+    @Param({"30", "300", "3000"})
+    public int npcCount;
+
+    /************ LOADERS ************/
+    private AnimationLoader[] loaders;
+    private int frame;
+
+    /**
+     * Creates one loader per character. They share the animations of one sprite sheet, like the game's NPCs.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGdx.start();
+        loaders = new AnimationLoader[npcCount];
+        for (int i = 0; i < npcCount; i++) {
+            loaders[i] = new AnimationLoader(SPRITE_SHEET);
+        }
+    }
+
+    /**
+     * Switches every character to an animation, varying the names between characters and frames so the
+     * branches of the switch are not predicted perfectly.
+     *
+     * @param blackhole consumes the selected animations
+     */
+    @Benchmark
+    public void setCurrentAnimation(Blackhole blackhole) {
+        for (int i = 0; i < loaders.length; i++) {
+            loaders[i].setCurrentAnimation(NAMES[(i + frame) & (NAMES.length - 1)]);
+            blackhole.consume(loaders[i].getCurrentAnimation());
+        }
+        frame++;
+    }
+
+    /**
+     * Releases the shared animations.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (AnimationLoader loader : loaders) {
+            loader.dispose();
+        }
+    }
+}
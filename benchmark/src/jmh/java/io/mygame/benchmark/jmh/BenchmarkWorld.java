@@ -0,0 +1,117 @@
+package io.mygame.benchmark.jmh;
+
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.mygame.entities.NPC;
+import io.mygame.entities.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds synthetic worlds of a given size for the benchmarks. Maps and NPCs are scattered with a fixed seed,
+ * so every run and every fork measures the same layout.
+ */
+final class BenchmarkWorld {
+    /************ WORLD SIZE ************/
+    static final int MAP_TILES = 200;
+    static final int TILE_SIZE = 16;
+    static final float WORLD_SIZE = MAP_TILES * TILE_SIZE;
+
+    /************ LAYOUT ************/
+    private static final long SEED = 0x5EED;
+    private static final float MIN_OBJECT_SIZE = 16f;
+    private static final float MAX_OBJECT_SIZE = 64f;
+    private static final float NPC_WANDER = 96f;
+    private static final int INTERACTABLES = 12;
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private BenchmarkWorld() {
+    }
+
+    /**
+     * Creates a map with the properties and layers {@code CollisionHandler} reads: a COLLISION layer holding
+     * the given number of rectangles and an InteractionLayer group with a few interactable areas.
+     *
+     * @param objectCount the number of collision objects
+     * @return the map, which holds no textures
+     */
+    static TiledMap createMap(int objectCount) {
+        Random random = new Random(SEED);
+        TiledMap map = new TiledMap();
+
+        MapProperties properties = map.getProperties();
+        properties.put("width", MAP_TILES);
+        properties.put("height", MAP_TILES);
+        properties.put("tilewidth", TILE_SIZE);
+        properties.put("tileheight", TILE_SIZE);
+
+        MapLayer collision = new MapLayer();
+        collision.setName("COLLISION");
+        for (int i = 0; i < objectCount; i++) {
+            collision.getObjects().add(randomRectangle(random));
+        }
+        map.getLayers().add(collision);
+
+        MapLayer buildings = new MapLayer();
+        buildings.setName("Library");
+        for (int i = 0; i < INTERACTABLES; i++) {
+            buildings.getObjects().add(randomRectangle(random));
+        }
+        MapGroupLayer interaction = new MapGroupLayer();
+        interaction.setName("InteractionLayer");
+        interaction.getLayers().add(buildings);
+        map.getLayers().add(interaction);
+        return map;
+    }
+
+    /**
+     * Creates a rectangle of random size somewhere in the world.
+     *
+     * @param random the random source
+     * @return the rectangle object
+     */
+    private static RectangleMapObject randomRectangle(Random random) {
+        float width = MIN_OBJECT_SIZE + random.nextFloat() * (MAX_OBJECT_SIZE - MIN_OBJECT_SIZE);
+        float height = MIN_OBJECT_SIZE + random.nextFloat() * (MAX_OBJECT_SIZE - MIN_OBJECT_SIZE);
+        return new RectangleMapObject(random.nextFloat() * (WORLD_SIZE - width),
+            random.nextFloat() * (WORLD_SIZE - height), width, height);
+    }
+
+    /**
+     * Creates NPCs at random positions, each walking towards a random target near it. They share one sprite
+     * sheet, which must be released by disposing every NPC.
+     *
+     * @param count the number of NPCs
+     * @return the NPCs
+     */
+    static List<NPC> createNPCs(int count) {
+        Random random = new Random(SEED + 1);
+        List<NPC> npcs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float x = random.nextFloat() * (WORLD_SIZE - TILE_SIZE);
+            float y = random.nextFloat() * (WORLD_SIZE - TILE_SIZE * 2);
+            NPC npc = new Student.CollegeMale1(x, y, "targeted");
+            wander(npc, random);
+            npcs.add(npc);
+        }
+        return npcs;
+    }
+
+    /**
+     * Gives an NPC a new random target near its current position.
+     *
+     * @param npc    the NPC
+     * @param random the random source
+     */
+    static void wander(NPC npc, Random random) {
+        npc.setTarget(npc.getX() + (random.nextFloat() * 2f - 1f) * NPC_WANDER,
+            npc.getY() + (random.nextFloat() * 2f - 1f) * NPC_WANDER);
+    }
+}
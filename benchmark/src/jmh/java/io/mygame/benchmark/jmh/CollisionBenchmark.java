@@ -0,0 +1,119 @@
+package io.mygame.benchmark.jmh;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import io.mygame.common.CollisionHandler;
+import io.mygame.entities.NPC;
+import io.mygame.entities.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one frame of {@link CollisionHandler}'s player and NPC passes, which sweep the movement since the
+ * previous frame and check the tile and NPC overlaps, on synthetic worlds of growing size.
+ * <p>
+ * The NPCs get new targets before they can reach their old ones, so every measured frame sweeps moving NPCs
+ * rather than timing NPCs that stand still.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    /************ WORLD SIZE ************/
+    @Param({"30", "300", "3000"})
+    public int npcCount;
+
+    @Param({"100", "1000", "10000"})
+    public int objectCount;
+
+    /************ WORLD ************/
+    private TiledMap map;
+    private Player player;
+    private List<NPC> npcs;
+    private CollisionHandler collisionHandler;
+    private Random random;
+    private int frame;
+
+    /************ WANDERING ************/
+    // Every NPC is retargeted once per interval, which is shorter than the time it takes to reach a target
+    private static final int RETARGET_INTERVAL = 30;
+
+    /**
+     * Builds the world with the player in its center.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGdx.start();
+        map = BenchmarkWorld.createMap(objectCount);
+        player = new Player();
+        player.setPosition(BenchmarkWorld.WORLD_SIZE / 2, BenchmarkWorld.WORLD_SIZE / 2);
+        npcs = BenchmarkWorld.createNPCs(npcCount);
+        collisionHandler = new CollisionHandler(player, npcs, map, new OrthographicCamera());
+        random = new Random(npcCount);
+    }
+
+    /**
+     * Gives every NPC a new target, so each iteration starts with every NPC moving.
+     */
+    @Setup(Level.Iteration)
+    public void retarget() {
+        for (NPC npc : npcs) {
+            BenchmarkWorld.wander(npc, random);
+        }
+    }
+
+    /**
+     * Moves the player back and forth by a pixel and resolves its collisions.
+     */
+    @Benchmark
+    public void playerCollision() {
+        float step = (frame++ & 1) == 0 ? 1f : -1f;
+        player.updateBoundingBox(player.getX() + step, player.getY());
+        collisionHandler.handlePlayerCollision();
+    }
+
+    /**
+     * Retargets a share of the NPCs, moves every NPC towards its target and resolves their collisions.
+     */
+    @Benchmark
+    public void npcCollision() {
+        for (int i = frame++ % RETARGET_INTERVAL; i < npcs.size(); i += RETARGET_INTERVAL) {
+            BenchmarkWorld.wander(npcs.get(i), random);
+        }
+        for (NPC npc : npcs) {
+            npc.update();
+        }
+        collisionHandler.handleNpcCollision();
+    }
+
+    /**
+     * Disposes the world.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        collisionHandler.dispose();
+        for (NPC npc : npcs) {
+            npc.dispose();
+        }
+        player.dispose();
+        map.dispose();
+    }
+}
@@ -0,0 +1,79 @@
+package io.mygame.benchmark.jmh;
+
+import io.mygame.entities.Entity;
+import io.mygame.entities.NPC;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving entities, which places their collision box and polygon through the private
+ * {@code Entity.updateCollisionPositions}. The polygon is only kept in sync once it has been created, so
+ * both cases are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+    /************ WORLD SIZE ************/
+    @Param({"30", "300", "3000"})
+    public int npcCount;
+
+    @Param({"false", "true"})
+    public boolean withPolygon;
+
+    /************ ENTITIES ************/
+    private List<NPC> npcs;
+    private int frame;
+
+    /**
+     * Scatters the NPCs over the world and creates their collision polygons if requested.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGdx.start();
+        npcs = BenchmarkWorld.createNPCs(npcCount);
+        if (withPolygon) {
+            for (Entity npc : npcs) {
+                npc.getCollisionPolygon();
+            }
+        }
+    }
+
+    /**
+     * Moves every entity back and forth by a pixel.
+     */
+    @Benchmark
+    public void updateBoundingBox() {
+        float step = (frame++ & 1) == 0 ? 1f : -1f;
+        for (Entity npc : npcs) {
+            npc.updateBoundingBox(npc.getX() + step, npc.getY());
+        }
+    }
+
+    /**
+     * Disposes the entities.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (NPC npc : npcs) {
+            npc.dispose();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.mygame.benchmark.jmh;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import io.mygame.benchmark.FixedStepGraphics;
+import io.mygame.benchmark.HeadlessGL;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Starts libGDX's headless backend once per benchmark fork, so the benchmarks can load sprite sheets and
+ * create entities the same way the game does. The backend's loop never renders, and the GL stub and fixed
+ * delta of the simulation benchmark are installed over it.
+ */
+final class HeadlessGdx {
+    /************ TIME STEP ************/
+    static final float DELTA = 1f / 60f;
+
+    /************ BACKEND ************/
+    private static HeadlessApplication application;
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private HeadlessGdx() {
+    }
+
+    /**
+     * Starts the backend if it is not running yet and waits until it is created.
+     */
+    static synchronized void start() {
+        if (application != null) return;
+
+        CountDownLatch created = new CountDownLatch(1);
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = -1;
+        application = new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                created.countDown();
+            }
+        }, configuration);
+
+        try {
+            created.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+
+        if (Gdx.gl == null) Gdx.gl = Gdx.gl20 = HeadlessGL.create();
+        Gdx.graphics = new FixedStepGraphics(DELTA);
+    }
+}
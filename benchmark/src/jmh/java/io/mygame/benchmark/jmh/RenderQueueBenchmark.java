@@ -0,0 +1,113 @@
+package io.mygame.benchmark.jmh;
+
+import io.mygame.common.RenderQueue;
+import io.mygame.entities.Entity;
+import io.mygame.entities.NPC;
+import io.mygame.entities.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ordering the player and the NPCs from back to front by their y position, as {@code GameScreen.draw}
+ * does every frame. Building and sorting a new list, as the screen used to, is compared with repairing the
+ * persistent {@link RenderQueue}. Every invocation first moves some NPCs by a pixel, like a frame of walking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderQueueBenchmark {
+    /************ WORLD SIZE ************/
+    @Param({"30", "300", "3000"})
+    public int npcCount;
+
+    /************ ENTITIES ************/
+    private Player player;
+    private List<NPC> npcs;
+    private RenderQueue renderQueue;
+    private int frame;
+
+    /**
+     * Scatters the NPCs over the world.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        HeadlessGdx.start();
+        player = new Player();
+        npcs = BenchmarkWorld.createNPCs(npcCount);
+
+        renderQueue = new RenderQueue();
+        renderQueue.add(player);
+        for (NPC npc : npcs) {
+            renderQueue.add(npc);
+        }
+        renderQueue.sort();
+    }
+
+    /**
+     * Moves every fourth NPC up or down by a pixel, alternating every frame.
+     */
+    private void walk() {
+        float step = (frame++ & 1) == 0 ? 1f : -1f;
+        for (int i = frame & 3; i < npcs.size(); i += 4) {
+            NPC npc = npcs.get(i);
+            npc.updateBoundingBox(npc.getX(), npc.getY() + step);
+        }
+    }
+
+    /**
+     * Builds a new list every frame and sorts it with a comparator.
+     *
+     * @return the sorted list, so it is not optimized away
+     */
+    @Benchmark
+    public List<Entity> buildAndSort() {
+        walk();
+        List<Entity> renderQueue = new ArrayList<>();
+        renderQueue.add(player);
+        renderQueue.addAll(npcs);
+
+        renderQueue.sort((a, b) -> Float.compare(b.getY(), a.getY()));
+        return renderQueue;
+    }
+
+    /**
+     * Repairs the order of the persistent queue.
+     *
+     * @return the queue, so it is not optimized away
+     */
+    @Benchmark
+    public RenderQueue persistentSort() {
+        walk();
+        renderQueue.sort();
+        return renderQueue;
+    }
+
+    /**
+     * Disposes the entities.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (NPC npc : npcs) {
+            npc.dispose();
+        }
+        player.dispose();
+    }
+}
@@ -0,0 +1,109 @@
+package io.mygame.benchmark.jmh;
+
+import io.mygame.common.GameManager;
+import io.mygame.datahandler.JSONService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving and loading the {@link GameManager} through {@link JSONService} the way
+ * {@code GameDataHandler} does, with a file writer and reader. The progress maps grow with the world: one NPC
+ * interaction per NPC and one found area per collision object.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+    /************ WORLD SIZE ************/
+    @Param({"30", "300", "3000"})
+    public int npcCount;
+
+    @Param({"100", "1000", "10000"})
+    public int objectCount;
+
+    /************ SAVE DATA ************/
+    private final JSONService jsonService = new JSONService();
+    private GameManager gameManager;
+    private File saveFile;
+
+    /**
+     * Fills the progress of the game manager and writes a save file to load from.
+     *
+     * @throws IOException if the save file cannot be written
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        gameManager = GameManager.getInstance();
+        gameManager.resetDefaultValues();
+
+        HashMap<String, Boolean> npcInteracted = new HashMap<>();
+        for (int i = 0; i < npcCount; i++) {
+            npcInteracted.put("npc" + i, i % 2 == 0);
+        }
+        gameManager.setNpcsFound(npcInteracted);
+
+        HashMap<String, Boolean> areasFound = new HashMap<>();
+        for (int i = 0; i < objectCount; i++) {
+            areasFound.put("area" + i, i % 3 == 0);
+        }
+        gameManager.setAreasFound(areasFound);
+
+        saveFile = File.createTempFile("benchmark-save", ".json");
+        save();
+    }
+
+    /**
+     * Serializes the game manager to the save file.
+     *
+     * @throws IOException if the save file cannot be written
+     */
+    @Benchmark
+    public void save() throws IOException {
+        try (FileWriter fileWriter = new FileWriter(saveFile)) {
+            jsonService.serializedObject(gameManager, fileWriter);
+        }
+    }
+
+    /**
+     * Deserializes a game manager from the save file.
+     *
+     * @return the loaded game manager, so it is not optimized away
+     * @throws IOException if the save file cannot be read
+     */
+    @Benchmark
+    public GameManager load() throws IOException {
+        try (FileReader fileReader = new FileReader(saveFile)) {
+            return jsonService.deserialize(fileReader, GameManager.class);
+        }
+    }
+
+    /**
+     * Deletes the save file and resets the game manager.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (!saveFile.delete()) saveFile.deleteOnExit();
+        gameManager.resetDefaultValues();
+    }
+}
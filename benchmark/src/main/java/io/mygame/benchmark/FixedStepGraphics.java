@@ -0,0 +1,60 @@
+package io.mygame.benchmark;
+
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+
+/**
+ * Headless graphics reporting the same delta time every frame. The entities read their step from
+ * {@code Gdx.graphics.getDeltaTime()}, so a fixed delta makes every benchmark run simulate the same frames
+ * regardless of how fast the machine is.
+ */
+public class FixedStepGraphics extends MockGraphics {
+    /************ TIME STEP ************/
+    private final float delta;
+    private long frameId;
+
+    /**
+     * Constructs the graphics.
+     *
+     * @param delta the time in seconds every frame advances
+     */
+    public FixedStepGraphics(float delta) {
+        this.delta = delta;
+    }
+
+    /**
+     * Advances to the next simulated frame.
+     */
+    public void step() {
+        frameId++;
+    }
+
+    /**
+     * Gets the fixed time step.
+     *
+     * @return the delta time in seconds
+     */
+    @Override
+    public float getDeltaTime() {
+        return delta;
+    }
+
+    /**
+     * Gets the fixed time step.
+     *
+     * @return the delta time in seconds
+     */
+    @Override
+    public float getRawDeltaTime() {
+        return delta;
+    }
+
+    /**
+     * Gets the number of simulated frames.
+     *
+     * @return the frame id
+     */
+    @Override
+    public long getFrameId() {
+        return frameId;
+    }
+}
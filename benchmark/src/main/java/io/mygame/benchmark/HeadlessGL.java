@@ -0,0 +1,48 @@
+package io.mygame.benchmark;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * A GL20 that does nothing, for running code that creates textures and shaders without a GPU. The headless
+ * backend leaves {@code Gdx.gl} unset, so loading the map and the sprite sheets would fail without it.
+ * <p>
+ * Every call is a no-op returning zero, except that created objects get a non-zero handle and shaders and
+ * programs report that they compiled and linked, so {@code ShaderProgram} and {@code ShapeRenderer} can be
+ * constructed. Nothing is ever drawn.
+ */
+public final class HeadlessGL {
+    /**
+     * Utility class, not instantiable.
+     */
+    private HeadlessGL() {
+    }
+
+    /**
+     * Creates the no-op GL20.
+     *
+     * @return the GL20 stub
+     */
+    public static GL20 create() {
+        return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class},
+            (proxy, method, args) -> {
+                String name = method.getName();
+                if ((name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) &&
+                    args[2] instanceof IntBuffer params) {
+                    int pname = (Integer) args[1];
+                    boolean success = pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS;
+                    params.put(params.position(), success ? 1 : 0);
+                    return null;
+                }
+
+                Class<?> type = method.getReturnType();
+                if (type == int.class) return name.startsWith("glCreate") || name.startsWith("glGen") ? 1 : 0;
+                if (type == boolean.class) return false;
+                if (type == float.class) return 0f;
+                if (type == String.class) return "";
+                return null;
+            });
+    }
+}
@@ -0,0 +1,296 @@
+package io.mygame.benchmark;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import io.mygame.common.BinaryMapLoader;
+import io.mygame.common.ChunkedMap;
+import io.mygame.common.CollisionHandler;
+import io.mygame.common.GameAssets;
+import io.mygame.common.NpcScheduler;
+import io.mygame.entities.NPC;
+import io.mygame.entities.Player;
+import io.mygame.factories.NPCFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Measures the simulation cost of the game screen without a window or GPU. libGDX's headless backend loads
+ * the campus map the game would pick through {@link GameAssets#getMapPath()}, with the same loader, and the
+ * player and the NPCs of {@link NPCFactory}, and every frame then runs the same logic
+ * as {@code GameScreen.render} does outside of drawing: the player moves along a scripted route, the player
+ * and NPCs are updated and collided, with the NPC updates scheduled around a 640x360 view following the
+ * player, and the interaction checks run with the interact key pressed at a fixed interval. Frames advance by
+ * a fixed delta, so every run simulates the same frames.
+ * <p>
+ * After a warmup, the wall time of every frame and the bytes allocated by the simulating thread are recorded,
+ * and the mean and percentiles per frame are printed. The process exits with status 1 if the p99 frame time or
+ * the allocations per frame exceed the given budgets, so a CI job fails on a regression.
+ * <p>
+ * Usage: {@code SimulationBenchmark [frames] [maxP99Nanos] [maxBytesPerFrame]}, where a budget of 0 is not
+ * checked.
+ */
+public class SimulationBenchmark extends ApplicationAdapter {
+    /************ SIMULATION ************/
+    private static final float DELTA = 1f / 60f;
+    private static final int DEFAULT_FRAMES = 6000;
+    private static final int WARMUP_FRAMES = 600;
+    private static final int INTERACT_INTERVAL = 45;
+    private static final float VIEW_WIDTH = 640f;
+    private static final float VIEW_HEIGHT = 360f;
+
+    /************ BUDGETS ************/
+    private final int frames;
+    private final long maxP99Nanos;
+    private final long maxBytesPerFrame;
+
+    /************ GAME STATE ************/
+    private FixedStepGraphics graphics;
+    private TiledMap map;
+    private ChunkedMap chunkedMap;
+    private Player player;
+    private List<NPC> npcs;
+    private CollisionHandler collisionHandler;
+    private NpcScheduler npcScheduler;
+    private OrthographicCamera camera;
+    private int scriptFrame;
+
+    /**
+     * Entry point of the benchmark.
+     *
+     * @param args optionally the number of measured frames, the p99 budget in nanoseconds and the allocation
+     *             budget in bytes per frame
+     */
+    public static void main(String[] args) {
+        if (args.length > 3) {
+            System.err.println("Usage: SimulationBenchmark [frames] [maxP99Nanos] [maxBytesPerFrame]");
+            System.exit(1);
+        }
+
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        long maxP99Nanos = args.length > 1 ? Long.parseLong(args[1]) : 0L;
+        long maxBytesPerFrame = args.length > 2 ? Long.parseLong(args[2]) : 0L;
+
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        configuration.updatesPerSecond = -1;
+        new HeadlessApplication(new SimulationBenchmark(frames, maxP99Nanos, maxBytesPerFrame), configuration);
+    }
+
+    /**
+     * Constructs the benchmark.
+     *
+     * @param frames           the number of measured frames
+     * @param maxP99Nanos      the p99 frame time budget in nanoseconds, or 0 for none
+     * @param maxBytesPerFrame the allocation budget in bytes per frame, or 0 for none
+     */
+    public SimulationBenchmark(int frames, long maxP99Nanos, long maxBytesPerFrame) {
+        this.frames = frames;
+        this.maxP99Nanos = maxP99Nanos;
+        this.maxBytesPerFrame = maxBytesPerFrame;
+    }
+
+    /**
+     * Loads the game state, runs the benchmark and exits with its result.
+     */
+    @Override
+    public void create() {
+        int status;
+        try {
+            setUp();
+            status = measure();
+            tearDown();
+        } catch (RuntimeException e) {
+            System.err.println("RuntimeException: Benchmark failed: " + e.getMessage());
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Installs the GL stub and the fixed-step graphics, and loads the map, the player and the NPCs.
+     */
+    private void setUp() {
+        if (Gdx.gl == null) Gdx.gl = Gdx.gl20 = HeadlessGL.create();
+        graphics = new FixedStepGraphics(DELTA);
+        Gdx.graphics = graphics;
+
+        map = loadMap();
+        player = new Player();
+        npcs = NPCFactory.createNPCs();
+        npcScheduler = new NpcScheduler(npcs);
+        camera = new OrthographicCamera(VIEW_WIDTH, VIEW_HEIGHT);
+
+        if (chunkedMap != null) {
+            chunkedMap.preload(player.getX() + 8, player.getY() + 16);
+            collisionHandler = new CollisionHandler(player, npcs, chunkedMap, camera);
+        } else {
+            collisionHandler = new CollisionHandler(player, npcs, map, camera);
+        }
+    }
+
+    /**
+     * Loads the map the game screen would load, a chunked, binary or TMX map depending on which is up to date.
+     *
+     * @return the loaded map
+     */
+    private TiledMap loadMap() {
+        String mapPath = GameAssets.getInstance().getMapPath();
+
+        if (mapPath.equals(GameAssets.CHUNKED_MAP_PATH)) {
+            chunkedMap = new ChunkedMap(mapPath);
+            return chunkedMap.getMap();
+        }
+        if (mapPath.equals(GameAssets.BINARY_MAP_PATH)) {
+            return new BinaryMapLoader().load(mapPath);
+        }
+        return new TmxMapLoader().load(mapPath);
+    }
+
+    /**
+     * Runs the warmup and the measured frames and prints the results.
+     *
+     * @return the exit status, 1 if a budget was exceeded and 0 otherwise
+     */
+    private int measure() {
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            step();
+        }
+
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] durations = new long[frames];
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < frames; i++) {
+            long start = System.nanoTime();
+            step();
+            durations[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        long total = 0L;
+        for (long duration : durations) {
+            total += duration;
+        }
+        Arrays.sort(durations);
+        long p50 = durations[(int) (frames * 0.50)];
+        long p99 = durations[Math.min(frames - 1, (int) (frames * 0.99))];
+        long bytesPerFrame = allocated / frames;
+
+        System.out.println("Simulated " + frames + " frames of the player and " + npcs.size() + " NPCs at " +
+            Math.round(1f / DELTA) + " fps after " + WARMUP_FRAMES + " warmup frames");
+        System.out.printf("ns/frame      mean %d  p50 %d  p99 %d  max %d%n", total / frames, p50, p99,
+            durations[frames - 1]);
+        System.out.printf("bytes/frame   %d%n", bytesPerFrame);
+
+        int status = 0;
+        if (maxP99Nanos > 0 && p99 > maxP99Nanos) {
+            System.err.println("Regression: p99 of " + p99 + " ns exceeds the budget of " + maxP99Nanos + " ns");
+            status = 1;
+        }
+        if (maxBytesPerFrame > 0 && bytesPerFrame > maxBytesPerFrame) {
+            System.err.println("Regression: " + bytesPerFrame + " bytes/frame exceeds the budget of " +
+                maxBytesPerFrame + " bytes/frame");
+            status = 1;
+        }
+        return status;
+    }
+
+    /**
+     * Simulates one frame in the order of {@code GameScreen.render}, without drawing.
+     */
+    private void step() {
+        graphics.step();
+
+        camera.position.set(player.getX() + 8, player.getY() + 16, 0);
+        if (chunkedMap != null) chunkedMap.update(camera.position.x, camera.position.y);
+        player.update();
+        player.stop();
+        Route.move(player, scriptFrame);
+        if (scriptFrame % INTERACT_INTERVAL == 0) {
+            collisionHandler.getInteractionInput().keyDown(Input.Keys.E);
+        }
+        scriptFrame++;
+
+        player.updateBoundingBox(player.getX(), player.getY());
+        collisionHandler.handlePlayerCollision();
+        npcScheduler.update(camera, DELTA);
+        collisionHandler.handleNpcCollision(npcScheduler.getUpdated());
+        npcScheduler.rebucket();
+
+        collisionHandler.pollInteractionInput();
+        collisionHandler.checkObjectInteractions();
+        collisionHandler.checkNPCInteractions();
+    }
+
+    /**
+     * Disposes the game state.
+     */
+    private void tearDown() {
+        collisionHandler.dispose();
+        for (NPC npc : npcs) {
+            npc.dispose();
+        }
+        player.dispose();
+        if (chunkedMap != null) chunkedMap.dispose();
+        else map.dispose();
+    }
+
+    /**
+     * The scripted route of the player, a loop of movements each held for a number of frames.
+     */
+    private enum Route {
+        UP(Player::moveUp, 180),
+        RIGHT(Player::moveRight, 120),
+        DOWN_RIGHT(Player::moveDownRight, 60),
+        DOWN(Player::moveDown, 180),
+        LEFT(Player::moveLeft, 120),
+        UP_LEFT(Player::moveUpLeft, 60),
+        IDLE(player -> { }, 60);
+
+        /************ MOVEMENT ************/
+        private final Consumer<Player> movement;
+        private final int frames;
+
+        /************ LOOP ************/
+        // values() copies its array, which would show up in the allocations of every frame
+        private static final Route[] LEGS = values();
+        private static final int LENGTH = Arrays.stream(LEGS).mapToInt(leg -> leg.frames).sum();
+
+        /**
+         * Constructs a leg of the route.
+         *
+         * @param movement the movement applied every frame of the leg
+         * @param frames   the number of frames the leg lasts
+         */
+        Route(Consumer<Player> movement, int frames) {
+            this.movement = movement;
+            this.frames = frames;
+        }
+
+        /**
+         * Applies the movement of the route at a frame.
+         *
+         * @param player the player
+         * @param frame  the number of frames since the route started
+         */
+        static void move(Player player, int frame) {
+            int time = frame % LENGTH;
+            for (Route leg : LEGS) {
+                if (time < leg.frames) {
+                    leg.movement.accept(player);
+                    return;
+                }
+                time -= leg.frames;
+            }
+        }
+    }
+}
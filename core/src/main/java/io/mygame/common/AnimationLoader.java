@@ -1,20 +1,26 @@
 package io.mygame.common;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
 /**
  * The AnimationLoader class loads a sprite sheet and manages character animations for different
  * movement states (idle, walking) and directions (front, right, left, back).
  * It splits the sprite sheet into frames and provides methods to switch and retrieve the current animation.
- * The constructor initializes animations from the provided sprite sheet path.
+ * The constructor initializes animations from the provided sprite sheet path. The sprite sheet and its
+ * animations are shared through the {@link TextureCache}, so loaders for the same path reuse them, and
+ * every sprite sheet is a region of the same packed atlas page when the atlas is available.
  */
 public class AnimationLoader {
     /************ PATH ************/
     private final String path;
+    private boolean acquired;
+
+    /************ ANIMATION ORDER ************/
+    private static final int FRONT_IDLE = 0, RIGHT_IDLE = 1, LEFT_IDLE = 2, BACK_IDLE = 3;
+    private static final int FRONT_WALK = 4, RIGHT_WALK = 5, LEFT_WALK = 6, BACK_WALK = 7;
 
     /************ ANIMATIONS ************/
     private Animation<TextureRegion> frontIdleAnimation, rightIdleAnimation, leftIdleAnimation, backIdleAnimation;
@@ -32,22 +38,22 @@ public class AnimationLoader {
     }
 
     /**
-     * Loads the sprite sheet and initializes the animations.
+     * Loads the shared animations of the sprite sheet from the texture cache.
      */
     private void loadSprite() {
         try {
-            Texture spriteSheet = new Texture(Gdx.files.internal(path));
-            TextureRegion[][] tmpFrames = TextureRegion.split(spriteSheet, 16, 32);
+            Array<Animation<TextureRegion>> animations = TextureCache.getInstance().acquireAnimations(path);
+            acquired = true;
 
-            frontIdleAnimation = extractFrames(tmpFrames, 0);
-            rightIdleAnimation = extractFrames(tmpFrames, 1);
-            leftIdleAnimation = extractFrames(tmpFrames, 3);
-            backIdleAnimation = extractFrames(tmpFrames, 2);
+            frontIdleAnimation = animations.get(FRONT_IDLE);
+            rightIdleAnimation = animations.get(RIGHT_IDLE);
+            leftIdleAnimation = animations.get(LEFT_IDLE);
+            backIdleAnimation = animations.get(BACK_IDLE);
 
-            frontWalkAnimation = extractFrames(tmpFrames, 4);
-            rightWalkAnimation = extractFrames(tmpFrames, 5);
-            leftWalkAnimation = extractFrames(tmpFrames, 7);
-            backWalkAnimation = extractFrames(tmpFrames, 6);
+            frontWalkAnimation = animations.get(FRONT_WALK);
+            rightWalkAnimation = animations.get(RIGHT_WALK);
+            leftWalkAnimation = animations.get(LEFT_WALK);
+            backWalkAnimation = animations.get(BACK_WALK);
 
             currentAnimation = frontIdleAnimation;
         } catch (GdxRuntimeException e) {
@@ -61,13 +67,35 @@ public class AnimationLoader {
         }
     }
 
+    /**
+     * Splits a sprite sheet into the idle and walking animations for every direction.
+     * The sheet may be a region of a packed atlas page, in which case every frame refers to that page.
+     * @param spriteSheet The sprite sheet region.
+     * @return The animations, indexed by the animation order constants of this class.
+     */
+    static Array<Animation<TextureRegion>> createAnimations(TextureRegion spriteSheet) {
+        TextureRegion[][] tmpFrames = spriteSheet.split(16, 32);
+        Array<Animation<TextureRegion>> animations = new Array<>(8);
+
+        animations.add(extractFrames(tmpFrames, 0));
+        animations.add(extractFrames(tmpFrames, 1));
+        animations.add(extractFrames(tmpFrames, 3));
+        animations.add(extractFrames(tmpFrames, 2));
+
+        animations.add(extractFrames(tmpFrames, 4));
+        animations.add(extractFrames(tmpFrames, 5));
+        animations.add(extractFrames(tmpFrames, 7));
+        animations.add(extractFrames(tmpFrames, 6));
+        return animations;
+    }
+
     /**
      * Extracts animation frames from the sprite sheet.
      * @param tmpFrames 2D array of texture regions split from the sprite sheet.
      * @param column Column index of the desired animation in the sprite sheet.
      * @return Animation created from the extracted frames.
      */
-    private Animation<TextureRegion> extractFrames(TextureRegion[][] tmpFrames, int column) {
+    private static Animation<TextureRegion> extractFrames(TextureRegion[][] tmpFrames, int column) {
         TextureRegion[] frames = new TextureRegion[6];
 
         for (int i = 0; i < 6; i++) {
@@ -119,4 +147,14 @@ public class AnimationLoader {
     public Animation<TextureRegion> getCurrentAnimation() {
         return currentAnimation;
     }
+
+    /**
+     * Releases this loader's reference to the shared sprite sheet.
+     */
+    public void dispose() {
+        if (acquired) {
+            TextureCache.getInstance().release(path);
+            acquired = false;
+        }
+    }
 }
@@ -0,0 +1,246 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The AudioCache class owns every sound and music instance of the game and keeps them within a memory budget.
+ * Short effects are fully decoded into {@link Sound}s so they play without touching the disk, while long tracks
+ * such as the background music and the ambience are streamed through {@link Music}, which only keeps a few
+ * small buffers in memory. Both are cached by path, so asking for the same track again, e.g. when the main
+ * menu is shown a second time, returns the instance that is already playing instead of decoding it again.
+ * <p>
+ * Every entry is charged an estimate of its memory use. Once the estimates exceed the budget, the least
+ * recently used entries are disposed, skipping music that is still playing and sounds that are pinned. A voice
+ * {@link #pin}s the sound it holds and {@link #unpin}s it when it lets go, so a sound is never disposed under a
+ * voice that may still be playing it. An evicted entry is decoded or opened again the next time it is
+ * requested.
+ * The AudioCache follows a singleton pattern.
+ */
+public class AudioCache implements Disposable {
+    /************ SINGLETON INSTANCE ************/
+    private static AudioCache instance;
+
+    /************ MEMORY BUDGET ************/
+    public static final long DEFAULT_MEMORY_BUDGET = 8L * 1024 * 1024;
+    private static final int COMPRESSION_RATIO = 10;
+    private static final long STREAM_BYTES = 128L * 1024;
+
+    /************ CACHED AUDIO ************/
+    private final ObjectMap<String, Entry> entries;
+    private final ObjectMap<Sound, Entry> soundEntries;
+    private long residentBytes;
+    private long memoryBudget;
+    private long clock;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private AudioCache() {
+        entries = new ObjectMap<>();
+        soundEntries = new ObjectMap<>();
+        memoryBudget = DEFAULT_MEMORY_BUDGET;
+    }
+
+    /**
+     * Gets the singleton instance of the AudioCache.
+     * @return The AudioCache instance.
+     */
+    public static AudioCache getInstance() {
+        if (instance == null) instance = new AudioCache();
+        return instance;
+    }
+
+    /**
+     * Gets a short effect, decoding it fully into memory on first use or after it was evicted. The sound may
+     * be evicted once it is no longer pinned, so callers that play it must {@link #pin} it first.
+     *
+     * @param path the internal path of the effect
+     * @return the decoded sound, or null if it cannot be loaded
+     */
+    public Sound getSound(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            FileHandle file = Gdx.files.internal(path);
+            try {
+                entry = new Entry(Gdx.audio.newSound(file), null, estimateDecodedBytes(file));
+            } catch (GdxRuntimeException e) {
+                System.err.println("GdxRuntimeException: Failed to load sound " + path + ": " + e.getMessage());
+                return null;
+            }
+            soundEntries.put(entry.sound, entry);
+            add(path, entry);
+        }
+        entry.lastUsed = ++clock;
+        return entry.sound;
+    }
+
+    /**
+     * Gets a long track that is streamed from disk, opening it on first use. The returned instance is shared,
+     * so it keeps playing across screens for as long as it is not stopped.
+     *
+     * @param path the internal path of the track
+     * @return the streamed music, or null if it cannot be opened
+     */
+    public Music getMusic(String path) {
+        Entry entry = entries.get(path);
+        if (entry == null) {
+            try {
+                entry = new Entry(null, Gdx.audio.newMusic(Gdx.files.internal(path)), STREAM_BYTES);
+            } catch (GdxRuntimeException e) {
+                System.err.println("GdxRuntimeException: Failed to open music " + path + ": " + e.getMessage());
+                return null;
+            }
+            add(path, entry);
+        }
+        entry.lastUsed = ++clock;
+        return entry.music;
+    }
+
+    /**
+     * Pins a sound so it is not evicted while it is held, e.g. by a voice that plays it. Every pin must be
+     * matched by an {@link #unpin}.
+     *
+     * @param sound a sound returned by {@link #getSound}
+     */
+    public void pin(Sound sound) {
+        Entry entry = soundEntries.get(sound);
+        if (entry != null) entry.pins++;
+    }
+
+    /**
+     * Releases a pin on a sound. Once no pin is left, the sound may be evicted.
+     *
+     * @param sound a sound passed to {@link #pin}
+     */
+    public void unpin(Sound sound) {
+        Entry entry = soundEntries.get(sound);
+        if (entry != null && entry.pins > 0) entry.pins--;
+    }
+
+    /**
+     * Estimates the memory a fully decoded effect uses. Uncompressed WAV files take their own size, and
+     * compressed files are assumed to expand by {@value #COMPRESSION_RATIO} times.
+     *
+     * @param file the effect file
+     * @return the estimated size in bytes
+     */
+    private static long estimateDecodedBytes(FileHandle file) {
+        long length = file.length();
+        return file.extension().equalsIgnoreCase("wav") ? length : length * COMPRESSION_RATIO;
+    }
+
+    /**
+     * Adds an entry to the cache and evicts other entries while over the budget.
+     *
+     * @param path  the internal path of the entry
+     * @param entry the new entry
+     */
+    private void add(String path, Entry entry) {
+        entries.put(path, entry);
+        residentBytes += entry.bytes;
+        entry.lastUsed = ++clock;
+        evict(entry);
+    }
+
+    /**
+     * Disposes the least recently used entries until the cache fits its budget or nothing else can be evicted.
+     * Pinned sounds and playing music are skipped.
+     *
+     * @param keep an entry that must stay, or null
+     */
+    private void evict(Entry keep) {
+        while (residentBytes > memoryBudget) {
+            String oldestPath = null;
+            Entry oldest = null;
+            for (ObjectMap.Entry<String, Entry> candidate : entries) {
+                Entry entry = candidate.value;
+                if (entry == keep || entry.pins > 0 || (entry.music != null && entry.music.isPlaying())) continue;
+                if (oldest == null || entry.lastUsed < oldest.lastUsed) {
+                    oldest = entry;
+                    oldestPath = candidate.key;
+                }
+            }
+            if (oldest == null) return;
+
+            entries.remove(oldestPath);
+            if (oldest.sound != null) soundEntries.remove(oldest.sound);
+            residentBytes -= oldest.bytes;
+            oldest.dispose();
+        }
+    }
+
+    /**
+     * Sets the memory budget and evicts entries if the cache no longer fits.
+     *
+     * @param memoryBudget the budget in bytes
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        evict(null);
+    }
+
+    /**
+     * Gets the estimated memory used by the cached audio.
+     *
+     * @return the resident size in bytes
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Disposes every cached sound and music. The cache can still be used afterwards.
+     */
+    @Override
+    public void dispose() {
+        for (Entry entry : entries.values()) {
+            entry.dispose();
+        }
+        entries.clear();
+        soundEntries.clear();
+        residentBytes = 0;
+    }
+
+    /**
+     * A cached sound or music with its estimated size, the time it was last requested and the number of pins
+     * holding it.
+     */
+    private static class Entry {
+        /************ AUDIO ************/
+        private final Sound sound;
+        private final Music music;
+        private final long bytes;
+        private long lastUsed;
+        private int pins;
+
+        /**
+         * Constructs an entry holding either a sound or a music.
+         *
+         * @param sound the decoded sound, or null
+         * @param music the streamed music, or null
+         * @param bytes the estimated memory use
+         */
+        Entry(Sound sound, Music music, long bytes) {
+            this.sound = sound;
+            this.music = music;
+            this.bytes = bytes;
+        }
+
+        /**
+         * Stops and disposes the audio of the entry.
+         */
+        void dispose() {
+            if (sound != null) sound.dispose();
+            if (music != null) {
+                music.stop();
+                music.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.objects.EllipseMapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.PolylineMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Polyline;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Loads a TiledMap from the precompiled binary map format written by the {@code compileMap} Gradle task.
+ * The file is read through a {@link java.nio.MappedByteBuffer} when it exists on disk, and no XML or CSV is
+ * parsed: tile layers are stored as {@code short} indices into a palette of global tile ids, objects are stored
+ * as pre-split numeric records and properties are stored with their types.
+ * <p>
+ * The resulting map matches what {@link com.badlogic.gdx.maps.tiled.TmxMapLoader} produces with its default
+ * parameters, so {@link MapHandler} and {@link CollisionHandler} work with either loader.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int magic, int version
+ * int width, int height, int tileWidth, int tileHeight, string orientation, properties
+ * int tilesetCount, tileset[]
+ *     string name, int firstGid, int tileWidth, int tileHeight, int margin, int spacing,
+ *     int offsetX, int offsetY, string image (relative to the map file)
+ * int paletteSize, int[paletteSize] global tile ids with flip flags (palette index 0 is the empty cell)
+ * int layerCount, layer[]
+ *     byte kind, string name, float opacity, boolean visible, float offsetX, float offsetY,
+ *     float parallaxX, float parallaxY, properties, then by kind:
+ *     tile:   short[width * height] palette indices, top row first
+ *     object: int objectCount, object[]
+ *         byte shape, int id, string name, string type, float x, float y, float width, float height,
+ *         float rotation (NaN if unset), boolean visible, [int pointCount, float[pointCount * 2] points],
+ *         properties
+ *     group:  int layerCount, layer[]
+ * properties: int count, (string name, byte type, value)[]
+ * string:     int byteLength (-1 for null), UTF-8 bytes
+ * </pre>
+ */
+public class BinaryMapLoader {
+    /************ FILE HEADER ************/
+    public static final int MAGIC = 0x57434D50; // "WCMP"
+    public static final int VERSION = 1;
+
+    /************ LAYER KINDS ************/
+    public static final byte LAYER_TILE = 0;
+    public static final byte LAYER_OBJECT = 1;
+    public static final byte LAYER_GROUP = 2;
+
+    /************ OBJECT SHAPES ************/
+    public static final byte SHAPE_RECTANGLE = 0;
+    public static final byte SHAPE_ELLIPSE = 1;
+    public static final byte SHAPE_POLYGON = 2;
+    public static final byte SHAPE_POLYLINE = 3;
+
+    /************ PROPERTY TYPES ************/
+    public static final byte PROPERTY_STRING = 0;
+    public static final byte PROPERTY_INT = 1;
+    public static final byte PROPERTY_FLOAT = 2;
+    public static final byte PROPERTY_BOOL = 3;
+
+    /************ GID FLAGS ************/
+    private static final int FLIP_HORIZONTALLY = 0x80000000;
+    private static final int FLIP_VERTICALLY = 0x40000000;
+    private static final int FLIP_DIAGONALLY = 0x20000000;
+    private static final int GID_MASK = 0x0FFFFFFF;
+
+    /************ LOADING STATE ************/
+    private ByteBuffer buffer;
+    private int mapWidth, mapHeight, mapTileWidth, mapTileHeight;
+
+    /**
+     * Loads a binary map from an internal file.
+     *
+     * @param fileName the internal path of the binary map
+     * @return the loaded map; its tileset textures are owned by the map and disposed with it
+     * @throws GdxRuntimeException if the file is not a binary map of a supported version
+     */
+    public TiledMap load(String fileName) {
+        FileHandle file = Gdx.files.internal(fileName);
+        buffer = map(file);
+
+        if (buffer.getInt() != MAGIC) throw new GdxRuntimeException(fileName + " is not a binary map");
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException(fileName + " has version " + version + ", expected " + VERSION);
+        }
+
+        TiledMap map = new TiledMap();
+        Array<Texture> textures = new Array<>();
+        try {
+            readHeader(map);
+            readTilesets(map, file, textures);
+            Cell[] palette = readPalette(map.getTileSets());
+            readLayers(map.getLayers(), null, palette);
+        } catch (RuntimeException e) {
+            for (Texture texture : textures) texture.dispose();
+            throw e;
+        } finally {
+            buffer = null;
+        }
+
+        map.setOwnedResources(textures);
+        return map;
+    }
+
+    /**
+     * Creates a loader that reads from another buffer with the map size of this loader, so that objects and
+     * layers of a map whose header has already been read can be decoded separately, e.g. on another thread.
+     *
+     * @param buffer the buffer to read from
+     * @return the new loader
+     */
+    BinaryMapLoader forBuffer(ByteBuffer buffer) {
+        BinaryMapLoader loader = new BinaryMapLoader();
+        loader.buffer = buffer;
+        loader.mapWidth = mapWidth;
+        loader.mapHeight = mapHeight;
+        loader.mapTileWidth = mapTileWidth;
+        loader.mapTileHeight = mapTileHeight;
+        return loader;
+    }
+
+    /**
+     * Maps a file into memory, or reads it fully when it is not a plain file on disk (e.g. inside a jar).
+     *
+     * @param file the file to read
+     * @return a buffer positioned at the start of the file
+     */
+    static ByteBuffer map(FileHandle file) {
+        if (file.file().isFile()) {
+            try (FileChannel channel = FileChannel.open(file.file().toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (IOException e) {
+                System.err.println("IOException: Failed to map " + file.path() + ": " + e.getMessage());
+                throw new RuntimeException("Error: " + e.getMessage());
+            }
+        }
+        return ByteBuffer.wrap(file.readBytes());
+    }
+
+    /**
+     * Reads the map size and the map properties.
+     *
+     * @param map the map being loaded
+     */
+    void readHeader(TiledMap map) {
+        mapWidth = buffer.getInt();
+        mapHeight = buffer.getInt();
+        mapTileWidth = buffer.getInt();
+        mapTileHeight = buffer.getInt();
+        String orientation = readString();
+
+        MapProperties properties = map.getProperties();
+        if (orientation != null) properties.put("orientation", orientation);
+        properties.put("width", mapWidth);
+        properties.put("height", mapHeight);
+        properties.put("tilewidth", mapTileWidth);
+        properties.put("tileheight", mapTileHeight);
+        readProperties(properties);
+    }
+
+    /**
+     * Reads the tilesets and creates a static tile for every tile of their images.
+     *
+     * @param map      the map being loaded
+     * @param file     the map file, which image paths are relative to
+     * @param textures receives the loaded tileset textures
+     */
+    void readTilesets(TiledMap map, FileHandle file, Array<Texture> textures) {
+        ObjectMap<String, Texture> loaded = new ObjectMap<>();
+        int count = buffer.getInt();
+
+        // Every image is decoded on the worker pool before the first texture is uploaded
+        int start = buffer.position();
+        PixmapDecoder decoder = PixmapDecoder.getInstance();
+        for (int i = 0; i < count; i++) {
+            readString();
+            buffer.position(buffer.position() + 7 * Integer.BYTES);
+            decoder.decode(file.parent().child(readString()));
+        }
+        buffer.position(start);
+
+        for (int i = 0; i < count; i++) {
+            String name = readString();
+            int firstGid = buffer.getInt();
+            int tileWidth = buffer.getInt();
+            int tileHeight = buffer.getInt();
+            int margin = buffer.getInt();
+            int spacing = buffer.getInt();
+            int offsetX = buffer.getInt();
+            int offsetY = buffer.getInt();
+            String image = readString();
+
+            Texture texture = loaded.get(image);
+            if (texture == null) {
+                texture = decoder.loadTexture(file.parent().child(image));
+                texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+                loaded.put(image, texture);
+                textures.add(texture);
+            }
+
+            TiledMapTileSet tileSet = new TiledMapTileSet();
+            tileSet.setName(name);
+            tileSet.getProperties().put("firstgid", firstGid);
+
+            int stopWidth = texture.getWidth() - tileWidth;
+            int stopHeight = texture.getHeight() - tileHeight;
+            int id = firstGid;
+            for (int y = margin; y <= stopHeight; y += tileHeight + spacing) {
+                for (int x = margin; x <= stopWidth; x += tileWidth + spacing) {
+                    StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tileWidth, tileHeight));
+                    tile.setId(id);
+                    tile.setOffsetX(offsetX);
+                    tile.setOffsetY(-offsetY);
+                    tileSet.putTile(id++, tile);
+                }
+            }
+            map.getTileSets().addTileSet(tileSet);
+        }
+    }
+
+    /**
+     * Reads the palette of global tile ids and resolves every entry to a shared cell.
+     * Cells are shared between all layer positions that use the same tile and flip flags, which is safe since
+     * the map never modifies its cells.
+     *
+     * @param tileSets the tilesets of the map
+     * @return the cells indexed by palette index; index 0 is the empty cell
+     */
+    Cell[] readPalette(TiledMapTileSets tileSets) {
+        int size = buffer.getInt();
+        Cell[] palette = new Cell[size + 1];
+
+        for (int i = 1; i <= size; i++) {
+            int gid = buffer.getInt();
+            Cell cell = createCell((gid & FLIP_HORIZONTALLY) != 0, (gid & FLIP_VERTICALLY) != 0,
+                (gid & FLIP_DIAGONALLY) != 0);
+            cell.setTile(tileSets.getTile(gid & GID_MASK));
+            palette[i] = cell;
+        }
+        return palette;
+    }
+
+    /**
+     * Creates a cell with the rotation and flipping Tiled encodes in the flip flags.
+     *
+     * @param flipHorizontally whether the horizontal flip flag is set
+     * @param flipVertically   whether the vertical flip flag is set
+     * @param flipDiagonally   whether the diagonal flip flag is set
+     * @return the cell, without a tile
+     */
+    private static Cell createCell(boolean flipHorizontally, boolean flipVertically, boolean flipDiagonally) {
+        Cell cell = new Cell();
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    /**
+     * Reads a list of layers.
+     *
+     * @param layers  the list receiving the layers
+     * @param parent  the group the layers belong to, or null for top-level layers
+     * @param palette the cells indexed by palette index
+     */
+    private void readLayers(MapLayers layers, MapGroupLayer parent, Cell[] palette) {
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            byte kind = buffer.get();
+            MapLayer layer = switch (kind) {
+                case LAYER_TILE -> new TiledMapTileLayer(mapWidth, mapHeight, mapTileWidth, mapTileHeight);
+                case LAYER_OBJECT -> new MapLayer();
+                case LAYER_GROUP -> new MapGroupLayer();
+                default -> throw new GdxRuntimeException("Unknown layer kind: " + kind);
+            };
+
+            readLayerAttributes(layer, parent);
+
+            if (layer instanceof TiledMapTileLayer tileLayer) {
+                readTileLayer(tileLayer, palette);
+            } else if (layer instanceof MapGroupLayer groupLayer) {
+                readLayers(groupLayer.getLayers(), groupLayer, palette);
+            } else {
+                readObjects(layer);
+            }
+            layers.add(layer);
+        }
+    }
+
+    /**
+     * Reads the attributes and properties shared by every layer kind.
+     *
+     * @param layer  the layer being loaded
+     * @param parent the group the layer belongs to, or null for a top-level layer
+     */
+    void readLayerAttributes(MapLayer layer, MapGroupLayer parent) {
+        layer.setName(readString());
+        layer.setOpacity(buffer.getFloat());
+        layer.setVisible(readBoolean());
+        layer.setOffsetX(buffer.getFloat());
+        layer.setOffsetY(buffer.getFloat());
+        layer.setParallaxX(buffer.getFloat());
+        layer.setParallaxY(buffer.getFloat());
+        layer.setParent(parent);
+        readProperties(layer.getProperties());
+    }
+
+    /**
+     * Reads the cells of a tile layer. Rows are stored top row first, as in Tiled.
+     *
+     * @param layer   the tile layer being loaded
+     * @param palette the cells indexed by palette index
+     */
+    private void readTileLayer(TiledMapTileLayer layer, Cell[] palette) {
+        int width = layer.getWidth();
+        int height = layer.getHeight();
+        short[] row = new short[width];
+
+        for (int y = 0; y < height; y++) {
+            buffer.asShortBuffer().get(row);
+            buffer.position(buffer.position() + width * 2);
+
+            for (int x = 0; x < width; x++) {
+                int index = row[x] & 0xFFFF;
+                if (index != 0) layer.setCell(x, height - 1 - y, palette[index]);
+            }
+        }
+    }
+
+    /**
+     * Reads the objects of an object layer, converting them to y-up world coordinates.
+     *
+     * @param layer the object layer being loaded
+     */
+    void readObjects(MapLayer layer) {
+        float heightInPixels = mapHeight * mapTileHeight;
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            byte shape = buffer.get();
+            int id = buffer.getInt();
+            String name = readString();
+            String type = readString();
+            float x = buffer.getFloat();
+            float y = heightInPixels - buffer.getFloat();
+            float width = buffer.getFloat();
+            float height = buffer.getFloat();
+            float rotation = buffer.getFloat();
+            boolean visible = readBoolean();
+
+            MapObject object = switch (shape) {
+                case SHAPE_RECTANGLE -> new RectangleMapObject(x, y - height, width, height);
+                case SHAPE_ELLIPSE -> new EllipseMapObject(x, y - height, width, height);
+                case SHAPE_POLYGON -> {
+                    Polygon polygon = new Polygon(readPoints());
+                    polygon.setPosition(x, y);
+                    yield new PolygonMapObject(polygon);
+                }
+                case SHAPE_POLYLINE -> {
+                    Polyline polyline = new Polyline(readPoints());
+                    polyline.setPosition(x, y);
+                    yield new PolylineMapObject(polyline);
+                }
+                default -> throw new GdxRuntimeException("Unknown object shape: " + shape);
+            };
+
+            MapProperties properties = object.getProperties();
+            object.setName(name);
+            object.setVisible(visible);
+            if (!Float.isNaN(rotation)) properties.put("rotation", rotation);
+            if (type != null) properties.put("type", type);
+            if (id != 0) properties.put("id", id);
+            properties.put("x", x);
+            properties.put("y", object instanceof RectangleMapObject ? y : y - height);
+            properties.put("width", width);
+            properties.put("height", height);
+            readProperties(properties);
+
+            layer.getObjects().add(object);
+        }
+    }
+
+    /**
+     * Reads the points of a polygon or polyline, flipping them to y-up.
+     *
+     * @return the vertices as x,y pairs relative to the object position
+     */
+    private float[] readPoints() {
+        float[] vertices = new float[buffer.getInt() * 2];
+        for (int i = 0; i < vertices.length; i += 2) {
+            vertices[i] = buffer.getFloat();
+            vertices[i + 1] = -buffer.getFloat();
+        }
+        return vertices;
+    }
+
+    /**
+     * Reads a property table into a set of properties.
+     *
+     * @param properties the properties receiving the values
+     */
+    private void readProperties(MapProperties properties) {
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            String name = readString();
+            byte type = buffer.get();
+            switch (type) {
+                case PROPERTY_INT -> properties.put(name, buffer.getInt());
+                case PROPERTY_FLOAT -> properties.put(name, buffer.getFloat());
+                case PROPERTY_BOOL -> properties.put(name, readBoolean());
+                default -> properties.put(name, readString());
+            }
+        }
+    }
+
+    /**
+     * Reads a boolean stored as a single byte.
+     *
+     * @return the boolean
+     */
+    boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @return the string, or null if a null string was stored
+     */
+    String readString() {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,534 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.maps.MapGroupLayer;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapObjects;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntSet;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A map that is streamed in fixed-size regions instead of being loaded up front.
+ * The chunked map file written by the {@code chunkMap} Gradle task holds the tilesets, the tile palette and the
+ * layer structure in a small header, followed by one record per region with the occupied cells of every tile
+ * layer and the objects of every object layer that overlap the region. The file is memory-mapped, and only the
+ * header is decoded when the map is opened.
+ * <p>
+ * {@link #update(float, float)} is called once per frame with the camera position. Regions within the load
+ * radius of the camera's region are decoded on a background thread and handed back to the render thread, and
+ * regions outside the radius are evicted, least recently used first, once the resident regions exceed the
+ * memory budget. The active regions are rendered by {@link MapHandler}, and their objects are mirrored into the
+ * object layers of {@link #getMap()} so {@link CollisionHandler} can rebuild its indices when
+ * {@link #getRevision()} changes.
+ * <p>
+ * Layout (big-endian), reusing the encodings of {@link BinaryMapLoader}:
+ * <pre>
+ * int magic, int version
+ * map header, tilesets and palette as in the binary map format
+ * int regionSize
+ * int layerCount, layer[] with the binary layer attributes but without cells or objects
+ * int regionColumns, int regionRows, (int offset, int length)[regionColumns * regionRows], bottom row first
+ * region:
+ *     per tile layer:   int cellCount, (short row * regionSize + column, short palette index)[cellCount],
+ *                       sorted by row then column, rows counted from the bottom of the region
+ *     per object layer: int objectCount, object[] as in the binary map format
+ * </pre>
+ */
+public class ChunkedMap implements Disposable {
+    /************ FILE HEADER ************/
+    public static final int MAGIC = 0x57434D43; // "WCMC"
+    public static final int VERSION = 1;
+
+    /************ STREAMING DEFAULTS ************/
+    public static final int DEFAULT_LOAD_RADIUS = 1;
+    public static final long DEFAULT_MEMORY_BUDGET = 16L * 1024 * 1024;
+
+    /************ MEMORY ESTIMATES ************/
+    private static final int CELL_BYTES = 6;
+    private static final int ROW_BYTES = 4;
+    private static final int LAYER_BYTES = 96;
+    private static final int OBJECT_BYTES = 256;
+
+    /************ SOURCE ************/
+    private final ByteBuffer buffer;
+    private final BinaryMapLoader headerReader;
+    private final Cell[] palette;
+
+    /************ MAP ************/
+    private final TiledMap map;
+    private final Array<MapLayer> tileLayers;
+    private final Array<MapLayer> objectLayers;
+    private final int mapWidth, mapHeight;
+    private final float tileWidth, tileHeight;
+    private final float[] layerOffsetX, layerOffsetY;
+
+    /************ REGIONS ************/
+    private final int regionSize;
+    private final int regionColumns, regionRows;
+    private final int[] regionOffsets;
+    private final int[] regionLengths;
+    private final MapRegion[] regions;
+    private final long[] lastUsed;
+    private final boolean[] pending;
+    private final Array<MapRegion> activeRegions;
+    private final Rectangle activeBounds;
+    private final IntSet objectIds;
+    private long residentBytes;
+    private long frame;
+    private int revision;
+
+    /************ STREAMING ************/
+    private final ExecutorService loader;
+    private final ConcurrentLinkedQueue<MapRegion> completed;
+    private final AtomicReference<RuntimeException> failure;
+    private int loadRadius;
+    private long memoryBudget;
+
+    /**
+     * Opens a chunked map from an internal file and reads its header. No region is loaded yet.
+     *
+     * @param fileName the internal path of the chunked map
+     * @throws GdxRuntimeException if the file is not a chunked map of a supported version
+     */
+    public ChunkedMap(String fileName) {
+        FileHandle file = Gdx.files.internal(fileName);
+        buffer = BinaryMapLoader.map(file);
+
+        ByteBuffer header = buffer.duplicate();
+        if (header.getInt() != MAGIC) throw new GdxRuntimeException(fileName + " is not a chunked map");
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException(fileName + " has version " + version + ", expected " + VERSION);
+        }
+
+        map = new TiledMap();
+        tileLayers = new Array<>();
+        objectLayers = new Array<>();
+        Array<Texture> textures = new Array<>();
+        headerReader = new BinaryMapLoader().forBuffer(header);
+        try {
+            headerReader.readHeader(map);
+            headerReader.readTilesets(map, file, textures);
+            palette = headerReader.readPalette(map.getTileSets());
+            regionSize = header.getInt();
+            readLayers(header, map.getLayers(), null);
+        } catch (RuntimeException e) {
+            for (Texture texture : textures) texture.dispose();
+            throw e;
+        }
+        map.setOwnedResources(textures);
+
+        mapWidth = map.getProperties().get("width", Integer.class);
+        mapHeight = map.getProperties().get("height", Integer.class);
+        tileWidth = map.getProperties().get("tilewidth", Integer.class);
+        tileHeight = map.getProperties().get("tileheight", Integer.class);
+
+        // Render offsets are computed lazily by MapLayer, so they are resolved here before any loader thread runs
+        layerOffsetX = new float[tileLayers.size];
+        layerOffsetY = new float[tileLayers.size];
+        for (int i = 0; i < tileLayers.size; i++) {
+            layerOffsetX[i] = tileLayers.get(i).getRenderOffsetX();
+            layerOffsetY[i] = -tileLayers.get(i).getRenderOffsetY();
+        }
+
+        regionColumns = header.getInt();
+        regionRows = header.getInt();
+        int regionCount = regionColumns * regionRows;
+        regionOffsets = new int[regionCount];
+        regionLengths = new int[regionCount];
+        for (int i = 0; i < regionCount; i++) {
+            regionOffsets[i] = header.getInt();
+            regionLengths[i] = header.getInt();
+        }
+
+        regions = new MapRegion[regionCount];
+        lastUsed = new long[regionCount];
+        pending = new boolean[regionCount];
+        activeRegions = new Array<>();
+        activeBounds = new Rectangle();
+        objectIds = new IntSet();
+
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "map-region-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        completed = new ConcurrentLinkedQueue<>();
+        failure = new AtomicReference<>();
+        loadRadius = DEFAULT_LOAD_RADIUS;
+        memoryBudget = DEFAULT_MEMORY_BUDGET;
+    }
+
+    /**
+     * Reads the layer structure. Object layers and groups are added to the map, while tile layers are only kept
+     * as descriptors since their cells live in the regions.
+     *
+     * @param header the header buffer
+     * @param layers the list receiving the object layers and groups
+     * @param parent the group the layers belong to, or null for top-level layers
+     */
+    private void readLayers(ByteBuffer header, MapLayers layers, MapGroupLayer parent) {
+        int count = header.getInt();
+
+        for (int i = 0; i < count; i++) {
+            byte kind = header.get();
+            MapLayer layer = kind == BinaryMapLoader.LAYER_GROUP ? new MapGroupLayer() : new MapLayer();
+            headerReader.readLayerAttributes(layer, parent);
+
+            switch (kind) {
+                case BinaryMapLoader.LAYER_TILE -> tileLayers.add(layer);
+                case BinaryMapLoader.LAYER_OBJECT -> {
+                    objectLayers.add(layer);
+                    layers.add(layer);
+                }
+                case BinaryMapLoader.LAYER_GROUP -> {
+                    readLayers(header, ((MapGroupLayer) layer).getLayers(), (MapGroupLayer) layer);
+                    layers.add(layer);
+                }
+                default -> throw new GdxRuntimeException("Unknown layer kind: " + kind);
+            }
+        }
+    }
+
+    /**
+     * Loads the regions around a position on the calling thread and activates them.
+     * Used when the map is first shown, so the player never starts on a region that is still loading.
+     *
+     * @param x the x position in world units
+     * @param y the y position in world units
+     */
+    public void preload(float x, float y) {
+        frame++;
+        int firstColumn = Math.max(0, getRegionColumn(x) - loadRadius);
+        int lastColumn = Math.min(regionColumns - 1, getRegionColumn(x) + loadRadius);
+        int firstRow = Math.max(0, getRegionRow(y) - loadRadius);
+        int lastRow = Math.min(regionRows - 1, getRegionRow(y) + loadRadius);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * regionColumns + column;
+                lastUsed[index] = frame;
+                if (regions[index] == null && regionLengths[index] > 0) addRegion(index, decodeRegion(index));
+            }
+        }
+        rebuildActiveRegions();
+    }
+
+    /**
+     * Streams the regions around the camera. Should be called once per frame on the render thread.
+     * Regions decoded since the previous call are activated, missing regions within the load radius are queued
+     * for loading, and regions outside the radius are evicted while the memory budget is exceeded.
+     *
+     * @param x the x position of the camera in world units
+     * @param y the y position of the camera in world units
+     * @throws RuntimeException if a region failed to load
+     */
+    public void update(float x, float y) {
+        RuntimeException error = failure.get();
+        if (error != null) throw new RuntimeException("Error: " + error.getMessage());
+
+        frame++;
+        boolean changed = false;
+
+        MapRegion region;
+        while ((region = completed.poll()) != null) {
+            int index = region.getRow() * regionColumns + region.getColumn();
+            pending[index] = false;
+            if (regions[index] == null) {
+                addRegion(index, region);
+                changed = true;
+            }
+        }
+
+        int firstColumn = Math.max(0, getRegionColumn(x) - loadRadius);
+        int lastColumn = Math.min(regionColumns - 1, getRegionColumn(x) + loadRadius);
+        int firstRow = Math.max(0, getRegionRow(y) - loadRadius);
+        int lastRow = Math.min(regionRows - 1, getRegionRow(y) + loadRadius);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = row * regionColumns + column;
+                lastUsed[index] = frame;
+                if (regions[index] == null && !pending[index] && regionLengths[index] > 0) {
+                    pending[index] = true;
+                    loader.execute(() -> loadRegion(index));
+                }
+            }
+        }
+
+        changed |= evictRegions();
+        if (changed) rebuildActiveRegions();
+    }
+
+    /**
+     * Decodes a region on the loader thread and queues it for activation.
+     *
+     * @param index the index of the region
+     */
+    private void loadRegion(int index) {
+        try {
+            completed.add(decodeRegion(index));
+        } catch (RuntimeException e) {
+            System.err.println("RuntimeException: Failed to load map region " + index + ": " + e.getMessage());
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    /**
+     * Decodes the record of a region. Only reads state that is fixed once the header has been read, so it is
+     * safe to call from the loader thread.
+     *
+     * @param index the index of the region
+     * @return the decoded region
+     */
+    private MapRegion decodeRegion(int index) {
+        ByteBuffer data = buffer.duplicate();
+        data.limit(regionOffsets[index] + regionLengths[index]);
+        data.position(regionOffsets[index]);
+
+        int column = index % regionColumns;
+        int row = index / regionColumns;
+        int width = Math.min(regionSize, mapWidth - column * regionSize);
+        int height = Math.min(regionSize, mapHeight - row * regionSize);
+        long size = 0;
+
+        SparseTileLayer[] layers = new SparseTileLayer[tileLayers.size];
+        for (int layer = 0; layer < layers.length; layer++) {
+            int count = data.getInt();
+            if (count == 0) continue;
+
+            int[] rowStarts = new int[height + 1];
+            short[] columns = new short[count];
+            Cell[] cells = new Cell[count];
+            for (int i = 0; i < count; i++) {
+                int position = data.getShort() & 0xFFFF;
+                cells[i] = palette[data.getShort() & 0xFFFF];
+                columns[i] = (short) (position % regionSize);
+                rowStarts[position / regionSize + 1]++;
+            }
+            for (int i = 0; i < height; i++) {
+                rowStarts[i + 1] += rowStarts[i];
+            }
+
+            MapLayer descriptor = tileLayers.get(layer);
+            layers[layer] = new SparseTileLayer(descriptor.getName(), descriptor.isVisible(), descriptor.getOpacity(),
+                column * regionSize * tileWidth + layerOffsetX[layer], row * regionSize * tileHeight + layerOffsetY[layer],
+                width, height, tileWidth, tileHeight, rowStarts, columns, cells);
+            size += LAYER_BYTES + (long) count * CELL_BYTES + (long) (height + 1) * ROW_BYTES;
+        }
+
+        BinaryMapLoader reader = headerReader.forBuffer(data);
+        MapLayer[] objects = new MapLayer[objectLayers.size];
+        for (int layer = 0; layer < objects.length; layer++) {
+            objects[layer] = new MapLayer();
+            reader.readObjects(objects[layer]);
+            size += (long) objects[layer].getObjects().getCount() * OBJECT_BYTES;
+        }
+
+        return new MapRegion(column, row, layers, objects, size);
+    }
+
+    /**
+     * Makes a decoded region resident.
+     *
+     * @param index  the index of the region
+     * @param region the decoded region
+     */
+    private void addRegion(int index, MapRegion region) {
+        regions[index] = region;
+        residentBytes += region.getSizeInBytes();
+    }
+
+    /**
+     * Evicts the least recently used regions outside the load radius until the resident regions fit the budget.
+     *
+     * @return true if any region was evicted
+     */
+    private boolean evictRegions() {
+        boolean evicted = false;
+
+        while (residentBytes > memoryBudget) {
+            int oldest = -1;
+            for (int i = 0; i < regions.length; i++) {
+                if (regions[i] == null || lastUsed[i] == frame) continue;
+                if (oldest < 0 || lastUsed[i] < lastUsed[oldest]) oldest = i;
+            }
+            if (oldest < 0) break;
+
+            residentBytes -= regions[oldest].getSizeInBytes();
+            regions[oldest] = null;
+            evicted = true;
+        }
+        return evicted;
+    }
+
+    /**
+     * Rebuilds the list of active regions and mirrors their objects into the object layers of the map.
+     * Objects stored in several regions are added once.
+     */
+    private void rebuildActiveRegions() {
+        activeRegions.clear();
+        activeBounds.set(0, 0, 0, 0);
+        float regionWidth = regionSize * tileWidth;
+        float regionHeight = regionSize * tileHeight;
+        for (MapRegion region : regions) {
+            if (region == null) continue;
+
+            float x = region.getColumn() * regionWidth;
+            float y = region.getRow() * regionHeight;
+            if (activeRegions.isEmpty()) {
+                activeBounds.set(x, y, regionWidth, regionHeight);
+            } else {
+                float right = Math.max(activeBounds.x + activeBounds.width, x + regionWidth);
+                float top = Math.max(activeBounds.y + activeBounds.height, y + regionHeight);
+                activeBounds.x = Math.min(activeBounds.x, x);
+                activeBounds.y = Math.min(activeBounds.y, y);
+                activeBounds.width = right - activeBounds.x;
+                activeBounds.height = top - activeBounds.y;
+            }
+            activeRegions.add(region);
+        }
+
+        objectIds.clear();
+        for (MapLayer layer : objectLayers) {
+            MapObjects objects = layer.getObjects();
+            while (objects.getCount() > 0) objects.remove(objects.getCount() - 1);
+        }
+        for (MapRegion region : activeRegions) {
+            for (int layer = 0; layer < objectLayers.size; layer++) {
+                for (MapObject object : region.getObjects(layer)) {
+                    int id = object.getProperties().get("id", 0, Integer.class);
+                    if (id == 0 || objectIds.add(id)) objectLayers.get(layer).getObjects().add(object);
+                }
+            }
+        }
+        revision++;
+    }
+
+    /**
+     * Gets the column of the region containing an x position, which may lie outside the map.
+     *
+     * @param x the x position in world units
+     * @return the region column
+     */
+    private int getRegionColumn(float x) {
+        return (int) Math.floor(x / (regionSize * tileWidth));
+    }
+
+    /**
+     * Gets the row of the region containing a y position, which may lie outside the map.
+     *
+     * @param y the y position in world units
+     * @return the region row
+     */
+    private int getRegionRow(float y) {
+        return (int) Math.floor(y / (regionSize * tileHeight));
+    }
+
+    /**
+     * Gets the map holding the tilesets, the map properties and the object layers of the active regions.
+     * It has no tile layers; their cells are in the active regions.
+     *
+     * @return the map
+     */
+    public TiledMap getMap() {
+        return map;
+    }
+
+    /**
+     * Gets the regions that are currently resident, in no particular order.
+     *
+     * @return the active regions; the array is reused and must not be modified
+     */
+    public Array<MapRegion> getActiveRegions() {
+        return activeRegions;
+    }
+
+    /**
+     * Gets the smallest rectangle covering every active region, in world units. It is empty when no region is
+     * active.
+     *
+     * @return the bounds of the active regions; the rectangle is reused and must not be modified
+     */
+    public Rectangle getActiveBounds() {
+        return activeBounds;
+    }
+
+    /**
+     * Gets a counter that changes whenever the set of active regions changes.
+     *
+     * @return the revision of the active region set
+     */
+    public int getRevision() {
+        return revision;
+    }
+
+    /**
+     * Gets the number of tile layers of the map.
+     *
+     * @return the tile layer count
+     */
+    public int getTileLayerCount() {
+        return tileLayers.size;
+    }
+
+    /**
+     * Gets the attributes and properties of a tile layer. The layer itself holds no cells.
+     *
+     * @param layer the index of the tile layer in document order
+     * @return the layer descriptor
+     */
+    public MapLayer getTileLayer(int layer) {
+        return tileLayers.get(layer);
+    }
+
+    /**
+     * Sets how many regions around the camera's region are kept loaded in each direction.
+     *
+     * @param loadRadius the load radius in regions
+     */
+    public void setLoadRadius(int loadRadius) {
+        this.loadRadius = Math.max(0, loadRadius);
+    }
+
+    /**
+     * Sets the estimated memory the resident regions may use before regions outside the load radius are evicted.
+     *
+     * @param memoryBudget the budget in bytes
+     */
+    public void setMemoryBudget(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Gets the estimated memory used by the resident regions.
+     *
+     * @return the resident size in bytes
+     */
+    public long getResidentBytes() {
+        return residentBytes;
+    }
+
+    /**
+     * Stops the loader thread and disposes of the tileset textures.
+     */
+    @Override
+    public void dispose() {
+        loader.shutdownNow();
+        map.dispose();
+    }
+}
@@ -0,0 +1,186 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+
+/**
+ * A uniform-grid spatial index over a set of static bounding boxes.
+ * Each box is bucketed into every cell it touches, so a query only has to look at the boxes
+ * stored in the cells covered by the query rectangle instead of walking the whole set.
+ * Items are referenced by their index in the array passed to {@link #rebuild(Array)}.
+ */
+public class CollisionGrid {
+    /************ DEFAULT CELL SIZE ************/
+    public static final float DEFAULT_CELL_SIZE = 16f;
+
+    /************ GRID LAYOUT ************/
+    private final float cellSize;
+    private float originX;
+    private float originY;
+    private int columns;
+    private int rows;
+
+    /************ CELL BUCKETS ************/
+    private IntArray[] cells;
+
+    /************ QUERY DEDUPLICATION ************/
+    private int[] queryStamps;
+    private int currentStamp;
+
+    /**
+     * Constructs an empty CollisionGrid using the default 16px cell size.
+     */
+    public CollisionGrid() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs an empty CollisionGrid with the given cell size.
+     *
+     * @param cellSize the width and height of a single grid cell in world units
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public CollisionGrid(float cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        this.cellSize = cellSize;
+        this.cells = new IntArray[0];
+        this.queryStamps = new int[0];
+    }
+
+    /**
+     * Rebuilds the grid from the given bounding boxes. Should be called once after the map is loaded,
+     * and again whenever the underlying collision objects change.
+     *
+     * @param bounds the bounding boxes to index; an item's id is its index in this array
+     */
+    public void rebuild(Array<Rectangle> bounds) {
+        if (bounds.isEmpty()) {
+            columns = 0;
+            rows = 0;
+            cells = new IntArray[0];
+            queryStamps = new int[0];
+            return;
+        }
+
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (Rectangle rect : bounds) {
+            minX = Math.min(minX, rect.x);
+            minY = Math.min(minY, rect.y);
+            maxX = Math.max(maxX, rect.x + rect.width);
+            maxY = Math.max(maxY, rect.y + rect.height);
+        }
+
+        originX = (float) Math.floor(minX / cellSize) * cellSize;
+        originY = (float) Math.floor(minY / cellSize) * cellSize;
+        columns = Math.max(1, (int) Math.ceil((maxX - originX) / cellSize));
+        rows = Math.max(1, (int) Math.ceil((maxY - originY) / cellSize));
+        cells = new IntArray[columns * rows];
+
+        for (int id = 0; id < bounds.size; id++) {
+            Rectangle rect = bounds.get(id);
+            int startColumn = toColumn(rect.x);
+            int endColumn = toColumn(rect.x + rect.width);
+            int startRow = toRow(rect.y);
+            int endRow = toRow(rect.y + rect.height);
+
+            for (int row = startRow; row <= endRow; row++) {
+                for (int column = startColumn; column <= endColumn; column++) {
+                    int index = row * columns + column;
+                    if (cells[index] == null) cells[index] = new IntArray(4);
+                    cells[index].add(id);
+                }
+            }
+        }
+
+        queryStamps = new int[bounds.size];
+        currentStamp = 0;
+    }
+
+    /**
+     * Collects the ids of every indexed box stored in the cells the given rectangle touches.
+     * Each id is reported at most once per query. The caller still has to run the exact overlap test.
+     *
+     * @param area the area to query, usually an entity's collision box
+     * @param out  the array receiving the candidate ids; it is cleared first
+     * @return the same array passed as {@code out}
+     */
+    public IntArray query(Rectangle area, IntArray out) {
+        return query(area.x, area.y, area.width, area.height, out);
+    }
+
+    /**
+     * Collects the ids of every indexed box stored in the cells the given area touches.
+     *
+     * @param x      the left edge of the area
+     * @param y      the bottom edge of the area
+     * @param width  the width of the area
+     * @param height the height of the area
+     * @param out    the array receiving the candidate ids; it is cleared first
+     * @return the same array passed as {@code out}
+     */
+    public IntArray query(float x, float y, float width, float height, IntArray out) {
+        out.clear();
+        if (cells.length == 0) return out;
+
+        int startColumn = toColumn(x);
+        int endColumn = toColumn(x + width);
+        int startRow = toRow(y);
+        int endRow = toRow(y + height);
+
+        if (++currentStamp == 0) {
+            Arrays.fill(queryStamps, 0);
+            currentStamp = 1;
+        }
+
+        for (int row = startRow; row <= endRow; row++) {
+            for (int column = startColumn; column <= endColumn; column++) {
+                IntArray bucket = cells[row * columns + column];
+                if (bucket == null) continue;
+
+                for (int i = 0; i < bucket.size; i++) {
+                    int id = bucket.get(i);
+                    if (queryStamps[id] != currentStamp) {
+                        queryStamps[id] = currentStamp;
+                        out.add(id);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Converts a world x-coordinate into a column index clamped to the grid.
+     *
+     * @param x the world x-coordinate
+     * @return the clamped column index
+     */
+    private int toColumn(float x) {
+        int column = (int) Math.floor((x - originX) / cellSize);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    /**
+     * Converts a world y-coordinate into a row index clamped to the grid.
+     *
+     * @param y the world y-coordinate
+     * @return the clamped row index
+     */
+    private int toRow(float y) {
+        int row = (int) Math.floor((y - originY) / cellSize);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    /**
+     * Gets the size of a single grid cell.
+     *
+     * @return the cell size in world units
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+}
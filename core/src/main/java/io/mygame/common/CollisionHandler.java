@@ -1,16 +1,20 @@
 package io.mygame.common;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.maps.MapGroupLayer;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.MapProperties;
 import com.badlogic.gdx.maps.objects.PolygonMapObject;
 import com.badlogic.gdx.maps.objects.RectangleMapObject;
 import com.badlogic.gdx.maps.tiled.TiledMap;
 import com.badlogic.gdx.math.*;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 import io.mygame.entities.Entity;
 import io.mygame.entities.NPC;
 
@@ -26,6 +30,8 @@ public class CollisionHandler {
 
     /************ MAP ************/
     private final TiledMap map;
+    private final ChunkedMap chunkedMap;
+    private int chunkRevision;
 
     /************ DEBUG RENDERING ************/
     private final ShapeRenderer shapeRenderer;
@@ -41,6 +47,35 @@ public class CollisionHandler {
     /************ INTERACTION DETECTION ************/
     private final Circle interactionCircle;
 
+    /************ INTERACTION INDEX ************/
+    private static final float INTERACTION_CELL_SIZE = 32f;
+    private final Array<Rectangle> interactionBounds;
+    private final Array<String> interactionNames;
+    private final CollisionGrid interactionGrid;
+    private final IntArray nearbyInteractables;
+    private int interactionCellX;
+    private int interactionCellY;
+
+    /************ INTERACTION INPUT ************/
+    private final InputProcessor interactionInput;
+    private boolean interactPending;
+    private boolean interactRequested;
+
+    /************ STATIC COLLISION GEOMETRY ************/
+    private final StaticCollisionWorld staticWorld;
+    private final IntArray collisionCandidates;
+    private final Rectangle maskArea;
+
+    /************ NPC BROADPHASE ************/
+    private final SweepAndPrune npcBroadphase;
+
+    /************ SWEPT RESOLUTION ************/
+    private static final int MAX_SLIDES = 2;
+    private static final float CONTACT_SKIN = 0.01f;
+    private final Rectangle sweptArea;
+    private final Vector2 contactNormal;
+    private final Vector2 hitNormal;
+
     /**
      * Constructs a CollisionHandler for managing collisions involving a specific entity
      * and NPCs on a TiledMap, with debug information rendered using the specified camera.
@@ -51,55 +86,219 @@ public class CollisionHandler {
      * @param camera  the OrthographicCamera used for rendering debug information
      */
     public CollisionHandler(Entity entity, List<NPC> npcs, TiledMap map, OrthographicCamera camera) {
+        this(entity, npcs, map, null, camera);
+    }
+
+    /**
+     * Constructs a CollisionHandler for a streamed map. The collision and interaction indices cover the objects
+     * of the active regions and are rebuilt whenever the set of active regions changes.
+     *
+     * @param entity     the main game entity whose collisions will be handled
+     * @param npcs       the list of non-playable characters (NPCs) for interaction and collision
+     * @param chunkedMap the streamed map containing the collision objects
+     * @param camera     the OrthographicCamera used for rendering debug information
+     */
+    public CollisionHandler(Entity entity, List<NPC> npcs, ChunkedMap chunkedMap, OrthographicCamera camera) {
+        this(entity, npcs, chunkedMap.getMap(), chunkedMap, camera);
+    }
+
+    /**
+     * Constructs a CollisionHandler for either a fully loaded or a streamed map.
+     *
+     * @param entity     the main game entity whose collisions will be handled
+     * @param npcs       the list of non-playable characters (NPCs) for interaction and collision
+     * @param map        the TiledMap containing the collision objects
+     * @param chunkedMap the streamed map owning {@code map}, or null if the map is fully loaded
+     * @param camera     the OrthographicCamera used for rendering debug information
+     */
+    private CollisionHandler(Entity entity, List<NPC> npcs, TiledMap map, ChunkedMap chunkedMap,
+                             OrthographicCamera camera) {
         this.entity = entity;
         this.npcs = npcs;
         this.map = map;
+        this.chunkedMap = chunkedMap;
+        this.chunkRevision = chunkedMap != null ? chunkedMap.getRevision() : 0;
         this.camera = camera;
         this.shapeRenderer = new ShapeRenderer();
 
         Rectangle playerBox = entity.getCollisionBox();
         float circleRadius = Math.max(playerBox.width, playerBox.height) * 3.0f;
         this.interactionCircle = new Circle(playerBox.x + playerBox.width / 2, playerBox.y + playerBox.height / 2, circleRadius);
+
+        this.interactionBounds = new Array<>();
+        this.interactionNames = new Array<>();
+        this.interactionGrid = new CollisionGrid(INTERACTION_CELL_SIZE);
+        this.nearbyInteractables = new IntArray();
+        this.interactionInput = new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                if (keycode == Input.Keys.E) interactPending = true;
+                return false;
+            }
+        };
+
+        this.staticWorld = new StaticCollisionWorld();
+        this.collisionCandidates = new IntArray();
+        this.maskArea = new Rectangle();
+        this.npcBroadphase = new SweepAndPrune();
+        this.sweptArea = new Rectangle();
+        this.contactNormal = new Vector2();
+        this.hitNormal = new Vector2();
+        rebuildCollisionIndex();
+        rebuildInteractionIndex();
+        savePreviousPosition();
+    }
+
+    /**
+     * Rebuilds the index over the objects in the InteractionLayer group of the TiledMap and refreshes
+     * the cached set of interactables near the player.
+     *
+     * @throws RuntimeException if the interaction layer is not found
+     */
+    public void rebuildInteractionIndex() {
+        interactionBounds.clear();
+        interactionNames.clear();
+
+        try {
+            MapLayer interactionGroupLayer = map.getLayers().get("InteractionLayer");
+            if (interactionGroupLayer == null) throw new IllegalArgumentException("MapLayer not found on rebuildInteractionIndex method not found");
+
+            if (interactionGroupLayer instanceof MapGroupLayer groupLayer) {
+                for (MapLayer childLayer : groupLayer.getLayers()) {
+                    for (MapObject object : childLayer.getObjects()) {
+                        if (object instanceof RectangleMapObject rectangleObj) {
+                            interactionBounds.add(new Rectangle(rectangleObj.getRectangle()));
+                            interactionNames.add(childLayer.getName());
+                        }
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(e.getMessage());
+        }
+
+        interactionGrid.rebuild(interactionBounds);
+        refreshNearbyInteractables();
+    }
+
+    /**
+     * Recomputes the interactables that the interaction circle can reach from anywhere inside the grid cell
+     * its center is currently in.
+     */
+    private void refreshNearbyInteractables() {
+        interactionCellX = (int) Math.floor(interactionCircle.x / INTERACTION_CELL_SIZE);
+        interactionCellY = (int) Math.floor(interactionCircle.y / INTERACTION_CELL_SIZE);
+
+        float radius = interactionCircle.radius;
+        interactionGrid.query(interactionCellX * INTERACTION_CELL_SIZE - radius,
+            interactionCellY * INTERACTION_CELL_SIZE - radius,
+            INTERACTION_CELL_SIZE + radius * 2, INTERACTION_CELL_SIZE + radius * 2, nearbyInteractables);
+    }
+
+    /**
+     * Moves the interaction circle to the center of the player's collision box. The cached set of nearby
+     * interactables is only refreshed when the circle's center crosses into another grid cell.
+     */
+    private void updateInteractionCircle() {
+        Rectangle playerBox = entity.getCollisionBox();
+        interactionCircle.x = playerBox.x + playerBox.width / 2;
+        interactionCircle.y = playerBox.y + playerBox.height / 2;
+
+        if ((int) Math.floor(interactionCircle.x / INTERACTION_CELL_SIZE) != interactionCellX ||
+            (int) Math.floor(interactionCircle.y / INTERACTION_CELL_SIZE) != interactionCellY) {
+            refreshNearbyInteractables();
+        }
+    }
+
+    /**
+     * Latches the interact key presses received since the previous frame so that the interaction checks of
+     * this frame can see them. Should be called once per frame before the interaction checks.
+     */
+    public void pollInteractionInput() {
+        interactRequested = interactPending;
+        interactPending = false;
+    }
+
+    /**
+     * Gets the input processor that listens for the interact key.
+     * It never consumes events, so it can sit in front of the UI stage in an InputMultiplexer.
+     *
+     * @return the interaction input processor
+     */
+    public InputProcessor getInteractionInput() {
+        return interactionInput;
+    }
+
+    /**
+     * Recompiles the static collision geometry from the COLLISION layer of the TiledMap.
+     * Called once when the handler is created and should be called again whenever the
+     * collision objects of the map change. The collision mask covers the whole map, or only the active
+     * regions of a streamed map.
+     *
+     * @throws RuntimeException if the collision layer contains an object that is neither a
+     *                          RectangleMapObject nor a PolygonMapObject
+     */
+    public void rebuildCollisionIndex() {
+        if (chunkedMap != null) {
+            maskArea.set(chunkedMap.getActiveBounds());
+        } else {
+            MapProperties properties = map.getProperties();
+            float worldWidth = properties.get("width", 0, Integer.class) *
+                properties.get("tilewidth", 0, Integer.class);
+            float worldHeight = properties.get("height", 0, Integer.class) *
+                properties.get("tileheight", 0, Integer.class);
+            maskArea.set(0, 0, worldWidth, worldHeight);
+        }
+
+        try {
+            staticWorld.rebuild(map.getLayers().get("COLLISION"), maskArea);
+        } catch (ClassCastException e) {
+            System.err.println("ClassCastException: " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the collision and interaction indices when the active regions of a streamed map have changed
+     * since they were last built.
+     */
+    private void syncActiveRegions() {
+        if (chunkedMap == null || chunkedMap.getRevision() == chunkRevision) return;
+
+        chunkRevision = chunkedMap.getRevision();
+        rebuildCollisionIndex();
+        rebuildInteractionIndex();
     }
 
     /**
      * Handles collision detection and resolution for the entity.
-     * This method checks if the entity collides with objects in the TiledMap and attempts to resolve the collision
-     * by adjusting the entity's position. It also updates the interaction circle's position and renders debug
-     * information if debug mode is enabled.
+     * The movement since the last frame is swept against the nearby collision geometry and NPCs, stopping at
+     * the time of impact and sliding along the contact. It also updates the interaction circle's position and
+     * renders debug information if debug mode is enabled.
      *
      * @throws RuntimeException if an error occurs during the collision detection process, such as a missing collision
      *                          layer or an incompatible object type
      */
     public void handlePlayerCollision() {
         String collisionName = "COLLISION";
+        syncActiveRegions();
         try {
             MapLayer objectLayer = map.getLayers().get(collisionName);
             if (objectLayer == null) throw new NullPointerException();
 
-            if (checkPlayerNpcCollision() || checkPlayerTileCollision(objectLayer)) {
-                float tempY = entity.getY();
-                entity.setY(previousY);
+            float targetX = entity.getX();
+            float targetY = entity.getY();
+            sweepMovement(entity, previousX, previousY, -1);
 
-                if (checkPlayerNpcCollision() || checkPlayerTileCollision(objectLayer)) {
-                    entity.setY(tempY);
-                    entity.setX(previousX);
-
-                    if (checkPlayerNpcCollision() || checkPlayerTileCollision(objectLayer)) {
-                        revertToPreviousPosition();
-                    } else {
-                        savePreviousPosition();
-                    }
-                } else {
-                    savePreviousPosition();
-                }
+            if (checkPlayerNpcCollision() || checkPlayerTileCollision()) {
+                // Polygon shapes and boxes that overlapped at the start are not swept
+                entity.setPosition(targetX, targetY);
+                resolvePlayerByRevert();
             } else {
                 savePreviousPosition();
             }
 
-            Rectangle playerBox = entity.getCollisionBox();
-            interactionCircle.x = playerBox.x + playerBox.width / 2;
-            interactionCircle.y = playerBox.y + playerBox.height / 2;
+            updateInteractionCircle();
 
             drawDebug(objectLayer);
         } catch (NullPointerException e) {
@@ -116,52 +315,36 @@ public class CollisionHandler {
 
     /**
      * Checks for object interactions in the interaction layer of the TiledMap.
-     * Returns the name of the layer where an interaction is detected.
+     * Returns the name of the layer where an interaction is detected. The spatial query only runs when
+     * the interact key was pressed this frame, and only against the cached nearby interactables.
      *
      * @return the name of the interaction layer, or null if no interaction occurs
-     * @throws RuntimeException if the interaction layer is not found
      */
     public String checkObjectInteractions() {
-        try {
-            MapLayer interactionGroupLayer = map.getLayers().get("InteractionLayer");
-            if (interactionGroupLayer == null) throw new IllegalArgumentException("MapLayer not found on checkObjectInteraction method not found");
-
-            if(interactionGroupLayer instanceof MapGroupLayer groupLayer) {
-
-                for(MapLayer childLayer : groupLayer.getLayers()) {
-                    String layerName = childLayer.getName();
+        if (!interactRequested) return null;
 
-                    for(MapObject object : childLayer.getObjects()) {
-                        if (object instanceof RectangleMapObject) {
-                            Rectangle rectangle = ((RectangleMapObject) object).getRectangle();
-                            if (Intersector.overlaps(interactionCircle, rectangle) &&
-                                Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-
-                                return layerName;
-                            }
-                        }
-                    }
-                }
+        for (int i = 0; i < nearbyInteractables.size; i++) {
+            int id = nearbyInteractables.get(i);
+            if (Intersector.overlaps(interactionCircle, interactionBounds.get(id))) {
+                return interactionNames.get(id);
             }
-        } catch (IllegalArgumentException e){
-            throw new RuntimeException(e.getMessage());
         }
-
         return null;
     }
 
     /**
      * Checks for NPC interactions within the interaction circle.
-     * Returns the type of the NPC being interacted with.
+     * Returns the type of the NPC being interacted with. The NPCs are only scanned when the interact
+     * key was pressed this frame.
      *
      * @return the type of the NPC, or null if no interaction occurs
      */
     public String checkNPCInteractions() {
+        if (!interactRequested) return null;
+
         for (NPC npc : npcs) {
             if (Intersector.overlaps(interactionCircle, npc.getCollisionBox())) {
-                if (Gdx.input.isKeyJustPressed(Input.Keys.E)) {
-                    return npc.getType();
-                }
+                return npc.getType();
             }
         }
         return null;
@@ -169,35 +352,41 @@ public class CollisionHandler {
 
     /**
      * Handles collisions between NPCs and other objects or tiles in the map.
-     * Updates NPC positions to avoid overlapping.
+     * Each NPC's movement is swept the same way as the player's to avoid overlapping.
      *
      * @throws RuntimeException if a critical error occurs during NPC collision handling
      */
     public void handleNpcCollision() {
+        handleNpcCollision(null);
+    }
+
+    /**
+     * Handles the collisions of the NPCs that moved this frame, such as the ones the {@link NpcScheduler}
+     * updated. NPCs that did not move are left in place and only act as obstacles.
+     *
+     * @param moved the indices of the NPCs that moved this frame, or null for every NPC
+     * @throws RuntimeException if a critical error occurs during NPC collision handling
+     */
+    public void handleNpcCollision(IntArray moved) {
         String collisionName = "COLLISION";
+        syncActiveRegions();
         try {
             MapLayer objectLayer = map.getLayers().get(collisionName);
             if (objectLayer == null) throw new NullPointerException();
 
-            for (NPC npc : npcs) {
-
+            npcBroadphase.update(npcs, moved);
 
-                if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(objectLayer, npc) || checkNpcCollision(npc)) {
-                    float tempY = npc.getY();
-                    npc.setY(npc.getPreviousY());
+            int count = moved == null ? npcs.size() : moved.size;
+            for (int k = 0; k < count; k++) {
+                int i = moved == null ? k : moved.get(k);
+                NPC npc = npcs.get(i);
+                float targetX = npc.getX();
+                float targetY = npc.getY();
+                sweepMovement(npc, npc.getPreviousX(), npc.getPreviousY(), i);
 
-                    if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(objectLayer, npc) || checkNpcCollision(npc)) {
-                        npc.setY(tempY);
-                        npc.setX(npc.getPreviousX());
-
-                        if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(objectLayer, npc) || checkNpcCollision(npc)) {
-                            revertToPreviousPositionNpc(npc);
-                        } else {
-                            savePreviousPositionNpc(npc);
-                        }
-                    } else {
-                        savePreviousPositionNpc(npc);
-                    }
+                if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(npc) || checkNpcCollision(i)) {
+                    npc.setPosition(targetX, targetY);
+                    resolveNpcByRevert(npc, i);
                 } else {
                     savePreviousPositionNpc(npc);
                 }
@@ -217,35 +406,160 @@ public class CollisionHandler {
     }
 
     /**
-     * Checks if the player collides with any tile objects in the specified layer.
+     * Moves an entity from its previous position towards its current position, stopping at the first
+     * impact with a collision rectangle, the player or an NPC and sliding along the contact for the rest of
+     * the movement. Collision rectangles are only gathered when the collision mask reports geometry in the
+     * swept area.
      *
-     * @param objectLayer the layer containing collision objects
-     * @return true if a collision is detected, false otherwise
+     * @param target   the entity to move
+     * @param fromX    the x position at the start of the movement
+     * @param fromY    the y position at the start of the movement
+     * @param npcIndex the index of the NPC being moved, or -1 when moving the player
      */
-    private boolean checkPlayerTileCollision(MapLayer objectLayer) {
-        try {
-            for (MapObject object : objectLayer.getObjects()) {
-                if (object instanceof RectangleMapObject) {
-                    Rectangle rectangle = ((RectangleMapObject) object).getRectangle();
-                    if (entity.getCollisionBox().overlaps(rectangle)) {
-                        return true;
-                    }
-                } else if (object instanceof PolygonMapObject) {
-                    Polygon polygon = ((PolygonMapObject) object).getPolygon();
-                    if (Intersector.overlapConvexPolygons(entity.getCollisionPolygon(), polygon)) {
-                        return true;
-                    }
+    private void sweepMovement(Entity target, float fromX, float fromY, int npcIndex) {
+        float dx = target.getX() - fromX;
+        float dy = target.getY() - fromY;
+        target.setPosition(fromX, fromY);
+
+        for (int slide = 0; slide < MAX_SLIDES && (dx != 0 || dy != 0); slide++) {
+            float timeOfImpact = findTimeOfImpact(target, dx, dy, npcIndex);
+            target.setPosition(target.getX() + dx * timeOfImpact + contactNormal.x * CONTACT_SKIN,
+                target.getY() + dy * timeOfImpact + contactNormal.y * CONTACT_SKIN);
+
+            if (timeOfImpact >= SweptAabb.NO_HIT) break;
+
+            // Slide along the contact with whatever movement is left
+            float remaining = 1f - timeOfImpact;
+            dx = contactNormal.x != 0 ? 0 : dx * remaining;
+            dy = contactNormal.y != 0 ? 0 : dy * remaining;
+        }
+    }
+
+    /**
+     * Finds the earliest impact of a moving entity against the collision rectangles, the player and the NPCs
+     * near its path. The contact normal of the earliest impact is stored in {@code contactNormal}.
+     *
+     * @param target   the moving entity
+     * @param dx       the x displacement of the movement
+     * @param dy       the y displacement of the movement
+     * @param npcIndex the index of the NPC being moved, or -1 when moving the player
+     * @return the time of impact in [0, 1], where 1 means no impact
+     */
+    private float findTimeOfImpact(Entity target, float dx, float dy, int npcIndex) {
+        Rectangle box = target.getCollisionBox();
+        sweptArea.set(Math.min(box.x, box.x + dx), Math.min(box.y, box.y + dy),
+            box.width + Math.abs(dx), box.height + Math.abs(dy));
+
+        float earliest = SweptAabb.NO_HIT;
+        contactNormal.setZero();
+
+        if (staticWorld.mayOverlap(sweptArea)) {
+            staticWorld.query(sweptArea, collisionCandidates);
+            for (int i = 0; i < collisionCandidates.size; i++) {
+                int piece = collisionCandidates.get(i);
+                if (staticWorld.isBoxPiece(piece)) {
+                    earliest = sweepAgainst(box, dx, dy, staticWorld.getPieceBounds(piece), earliest);
+                }
+            }
+        }
+
+        if (npcIndex < 0) {
+            for (NPC npc : npcs) {
+                earliest = sweepAgainst(box, dx, dy, npc.getCollisionBox(), earliest);
+            }
+        } else {
+            earliest = sweepAgainst(box, dx, dy, entity.getCollisionBox(), earliest);
+            IntArray partners = npcBroadphase.getPartners(npcIndex);
+            for (int i = 0; i < partners.size; i++) {
+                earliest = sweepAgainst(box, dx, dy, npcs.get(partners.get(i)).getCollisionBox(), earliest);
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * Sweeps a box against a single obstacle and keeps the earlier of the two impacts.
+     *
+     * @param box      the moving box
+     * @param dx       the x displacement of the movement
+     * @param dy       the y displacement of the movement
+     * @param obstacle the static box
+     * @param earliest the earliest time of impact found so far
+     * @return the earliest time of impact including this obstacle
+     */
+    private float sweepAgainst(Rectangle box, float dx, float dy, Rectangle obstacle, float earliest) {
+        float time = SweptAabb.sweep(box, dx, dy, obstacle, hitNormal);
+        if (time < earliest) {
+            contactNormal.set(hitNormal);
+            return time;
+        }
+        return earliest;
+    }
+
+    /**
+     * Resolves a player collision by retrying the movement one axis at a time, reverting fully if both fail.
+     * Used when the swept resolution cannot clear the collision, such as against polygon shapes.
+     */
+    private void resolvePlayerByRevert() {
+        if (checkPlayerNpcCollision() || checkPlayerTileCollision()) {
+            float tempY = entity.getY();
+            entity.setY(previousY);
+
+            if (checkPlayerNpcCollision() || checkPlayerTileCollision()) {
+                entity.setY(tempY);
+                entity.setX(previousX);
+
+                if (checkPlayerNpcCollision() || checkPlayerTileCollision()) {
+                    revertToPreviousPosition();
                 } else {
-                    throw new ClassCastException("Object is not a RectangleMapObject nor a PolygonMapObject");
+                    savePreviousPosition();
                 }
+            } else {
+                savePreviousPosition();
             }
-            return false;
-        } catch (ClassCastException e) {
-            System.err.println("ClassCastException: " + e.getMessage());
-            throw new RuntimeException("Error: " + e.getMessage());
+        } else {
+            savePreviousPosition();
         }
     }
 
+    /**
+     * Resolves an NPC collision by retrying the movement one axis at a time, reverting fully if both fail.
+     * Used when the swept resolution cannot clear the collision, such as against polygon shapes.
+     *
+     * @param npc   the NPC to resolve
+     * @param index the index of the NPC in the NPC list
+     */
+    private void resolveNpcByRevert(NPC npc, int index) {
+        if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(npc) || checkNpcCollision(index)) {
+            float tempY = npc.getY();
+            npc.setY(npc.getPreviousY());
+
+            if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(npc) || checkNpcCollision(index)) {
+                npc.setY(tempY);
+                npc.setX(npc.getPreviousX());
+
+                if (checkNpcPlayerCollision(npc) || checkNpcTileCollision(npc) || checkNpcCollision(index)) {
+                    revertToPreviousPositionNpc(npc);
+                } else {
+                    savePreviousPositionNpc(npc);
+                }
+            } else {
+                savePreviousPositionNpc(npc);
+            }
+        } else {
+            savePreviousPositionNpc(npc);
+        }
+    }
+
+    /**
+     * Checks if the player collides with any tile objects in the collision layer.
+     *
+     * @return true if a collision is detected, false otherwise
+     */
+    private boolean checkPlayerTileCollision() {
+        return checkTileCollision(entity);
+    }
+
     /**
      * Checks if the player collides with any NPC.
      *
@@ -275,44 +589,43 @@ public class CollisionHandler {
 
     /**
      * Checks if an NPC collides with another NPC.
+     * Only the NPCs paired with it by the sort-and-sweep broadphase are tested.
      *
-     * @param npc1 the NPC to check for collisions
+     * @param index the index of the NPC to check for collisions
      * @return true if a collision is detected, false otherwise
      */
-    private boolean checkNpcCollision(NPC npc1) {
-        for (NPC npc2 : npcs) {
-            if(!(npc1.equals(npc2))) {
-                if (npc1.getCollisionBox().overlaps(npc2.getCollisionBox()) ||
-                    Intersector.overlapConvexPolygons(npc1.getCollisionPolygon(), npc2.getCollisionPolygon())) {
-                    return true;
-                }
+    private boolean checkNpcCollision(int index) {
+        NPC npc1 = npcs.get(index);
+        IntArray partners = npcBroadphase.getPartners(index);
+
+        for (int i = 0; i < partners.size; i++) {
+            NPC npc2 = npcs.get(partners.get(i));
+            if (npc1.getCollisionBox().overlaps(npc2.getCollisionBox()) ||
+                Intersector.overlapConvexPolygons(npc1.getCollisionPolygon(), npc2.getCollisionPolygon())) {
+                return true;
             }
         }
         return false;
     }
 
     /**
-     * Checks if an NPC collides with tiles in the specified layer.
+     * Checks if an NPC collides with tiles in the collision layer.
      *
-     * @param objectLayer the layer containing collision objects
-     * @param npc         the NPC to check for collisions
+     * @param npc the NPC to check for collisions
      * @return true if a collision is detected, false otherwise
      */
-    private boolean checkNpcTileCollision(MapLayer objectLayer, NPC npc) {
-        for (MapObject object : objectLayer.getObjects()) {
-            if (object instanceof RectangleMapObject rectangleObj) {
-                Rectangle rectangle = rectangleObj.getRectangle();
-                if (npc.getCollisionBox().overlaps(rectangle)) {
-                    return true;
-                }
-            } else if (object instanceof PolygonMapObject polygonObj) {
-                Polygon polygon = polygonObj.getPolygon();
-                if (Intersector.overlapConvexPolygons(npc.getCollisionPolygon(), polygon)){
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean checkNpcTileCollision(NPC npc) {
+        return checkTileCollision(npc);
+    }
+
+    /**
+     * Checks if an entity collides with any object in the collision layer.
+     *
+     * @param target the entity to check for collisions
+     * @return true if a collision is detected, false otherwise
+     */
+    private boolean checkTileCollision(Entity target) {
+        return staticWorld.overlaps(target.getCollisionBox());
     }
 
     /**
@@ -394,10 +707,9 @@ public class CollisionHandler {
     }
 
     /**
-     * Releases resources used by the CollisionHandler.
+     * Releases resources used by the CollisionHandler. The map belongs to whoever loaded it and is not disposed.
      */
     public void dispose() {
         shapeRenderer.dispose();
-        map.dispose();
     }
 }
@@ -0,0 +1,284 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.Arrays;
+
+/**
+ * A rasterized bit grid of the collision shapes in an area of a TiledMap.
+ * Every cell is marked as either solid (fully covered by a shape), partial (touched by the edge of a shape)
+ * or free. Walkability of a box can then be answered with a handful of word lookups, and the exact shape
+ * tests only need to run when the box touches a partial cell.
+ * <p>
+ * The grid only spans the rasterized area, e.g. the active regions of a {@link ChunkedMap}, and its bit
+ * planes are reused when a later area fits in them, so rebuilding costs memory and time in proportion to
+ * the area rather than to the whole map.
+ */
+public class CollisionMask {
+    /************ DEFAULT CELL SIZE ************/
+    public static final float DEFAULT_CELL_SIZE = 4f;
+
+    /**
+     * The outcome of testing a box against the mask.
+     */
+    public enum Result {
+        /** The box only touches free cells. */
+        FREE,
+        /** The box touches at least one solid cell. */
+        BLOCKED,
+        /** The box touches partial cells only; an exact shape test is required. */
+        PARTIAL
+    }
+
+    /************ GRID LAYOUT ************/
+    private final float cellSize;
+    private final Rectangle area = new Rectangle();
+    private float originX;
+    private float originY;
+    private int columns;
+    private int rows;
+    private int rowWords;
+
+    /************ BIT PLANES ************/
+    private long[] solid;
+    private long[] partial;
+
+    /************ SCRATCH ************/
+    private final Rectangle cellRect = new Rectangle();
+
+    /**
+     * Constructs an empty CollisionMask with the default 4px cell size.
+     */
+    public CollisionMask() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Constructs an empty CollisionMask with the given cell size.
+     *
+     * @param cellSize the width and height of a single mask cell in world units
+     * @throws IllegalArgumentException if the cell size is not positive
+     */
+    public CollisionMask(float cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        this.cellSize = cellSize;
+        this.solid = new long[0];
+        this.partial = new long[0];
+    }
+
+    /**
+     * Rasterizes the shapes of a static collision world that overlap an area into the mask.
+     * Polygons are rasterized from their outlines rather than their convex pieces, so the seams between
+     * pieces do not produce partial cells. The cells stay aligned to multiples of the cell size, so every
+     * area rasterizes a shape the same way.
+     *
+     * @param world the compiled collision shapes to rasterize
+     * @param area  the area to rasterize in world units, e.g. the whole map
+     */
+    public void rebuild(StaticCollisionWorld world, Rectangle area) {
+        originX = (float) Math.floor(area.x / cellSize) * cellSize;
+        originY = (float) Math.floor(area.y / cellSize) * cellSize;
+        columns = Math.max(1, (int) Math.ceil((area.x + area.width - originX) / cellSize));
+        rows = Math.max(1, (int) Math.ceil((area.y + area.height - originY) / cellSize));
+        rowWords = (columns + 63) >>> 6;
+        this.area.set(originX, originY, columns * cellSize, rows * cellSize);
+
+        int words = rowWords * rows;
+        if (solid.length < words) {
+            solid = new long[words];
+            partial = new long[words];
+        } else {
+            Arrays.fill(solid, 0, words, 0L);
+            Arrays.fill(partial, 0, words, 0L);
+        }
+
+        for (int shape = 0; shape < world.getShapeCount(); shape++) {
+            // Shapes outside the area would otherwise be clamped onto its border cells
+            if (!world.getShapeBounds(shape).overlaps(this.area)) continue;
+
+            if (world.isRectangleShape(shape)) {
+                rasterizeRectangle(world.getShapeBounds(shape));
+            } else {
+                rasterizePolygon(world.getShapeOutline(shape));
+            }
+        }
+
+        // A cell that is solid because of one shape is never partial
+        for (int i = 0; i < words; i++) {
+            partial[i] &= ~solid[i];
+        }
+    }
+
+    /**
+     * Marks the cells covered by a rectangle.
+     *
+     * @param rect the rectangle to rasterize
+     */
+    private void rasterizeRectangle(Rectangle rect) {
+        int startColumn = clampColumn((int) Math.floor((rect.x - originX) / cellSize));
+        int endColumn = clampColumn((int) Math.ceil((rect.x + rect.width - originX) / cellSize) - 1);
+        int startRow = clampRow((int) Math.floor((rect.y - originY) / cellSize));
+        int endRow = clampRow((int) Math.ceil((rect.y + rect.height - originY) / cellSize) - 1);
+
+        for (int row = startRow; row <= endRow; row++) {
+            for (int column = startColumn; column <= endColumn; column++) {
+                float cellX = originX + column * cellSize;
+                float cellY = originY + row * cellSize;
+                boolean covered = cellX >= rect.x && cellY >= rect.y &&
+                    cellX + cellSize <= rect.x + rect.width && cellY + cellSize <= rect.y + rect.height;
+                set(covered ? solid : partial, column, row);
+            }
+        }
+    }
+
+    /**
+     * Marks the cells covered by a (possibly concave) polygon.
+     * A cell is partial when a polygon edge passes through it. Otherwise it lies entirely on one side
+     * of the boundary, and is solid when its center is inside the polygon.
+     *
+     * @param vertices the world-space polygon vertices as x,y pairs
+     */
+    private void rasterizePolygon(float[] vertices) {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < vertices.length; i += 2) {
+            minX = Math.min(minX, vertices[i]);
+            maxX = Math.max(maxX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+        }
+
+        int startColumn = clampColumn((int) Math.floor((minX - originX) / cellSize));
+        int endColumn = clampColumn((int) Math.ceil((maxX - originX) / cellSize) - 1);
+        int startRow = clampRow((int) Math.floor((minY - originY) / cellSize));
+        int endRow = clampRow((int) Math.ceil((maxY - originY) / cellSize) - 1);
+
+        for (int row = startRow; row <= endRow; row++) {
+            for (int column = startColumn; column <= endColumn; column++) {
+                cellRect.set(originX + column * cellSize, originY + row * cellSize, cellSize, cellSize);
+
+                if (edgesCrossCell(vertices, cellRect)) {
+                    set(partial, column, row);
+                } else if (Intersector.isPointInPolygon(vertices, 0, vertices.length,
+                    cellRect.x + cellSize / 2, cellRect.y + cellSize / 2)) {
+                    // No edge crosses the cell, so it is either fully inside or fully outside
+                    set(solid, column, row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether any edge of the polygon passes through the given cell.
+     *
+     * @param vertices the polygon vertices as x,y pairs
+     * @param cell     the cell rectangle
+     * @return true if an edge touches the cell, false otherwise
+     */
+    private boolean edgesCrossCell(float[] vertices, Rectangle cell) {
+        int count = vertices.length;
+        for (int i = 0; i < count; i += 2) {
+            float x1 = vertices[i], y1 = vertices[i + 1];
+            float x2 = vertices[(i + 2) % count], y2 = vertices[(i + 3) % count];
+            if (segmentTouchesRect(x1, y1, x2, y2, cell)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Liang-Barsky clip test of a segment against a rectangle.
+     *
+     * @return true if any point of the segment lies inside the closed rectangle
+     */
+    private static boolean segmentTouchesRect(float x1, float y1, float x2, float y2, Rectangle rect) {
+        float dx = x2 - x1, dy = y2 - y1;
+        float[] p = {-dx, dx, -dy, dy};
+        float[] q = {x1 - rect.x, rect.x + rect.width - x1, y1 - rect.y, rect.y + rect.height - y1};
+        float t0 = 0f, t1 = 1f;
+
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) return false;
+            } else {
+                float t = q[i] / p[i];
+                if (p[i] < 0) t0 = Math.max(t0, t);
+                else t1 = Math.min(t1, t);
+                if (t0 > t1) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Tests a box against the mask.
+     * Cells outside the rasterized area are reported as partial so the caller falls back to the exact test.
+     *
+     * @param box the box to test, usually an entity's collision box
+     * @return the combined result for every cell the box overlaps
+     */
+    public Result test(Rectangle box) {
+        if (rows == 0) return Result.PARTIAL;
+
+        int startColumn = (int) Math.floor((box.x - originX) / cellSize);
+        int endColumn = (int) Math.ceil((box.x + box.width - originX) / cellSize) - 1;
+        int startRow = (int) Math.floor((box.y - originY) / cellSize);
+        int endRow = (int) Math.ceil((box.y + box.height - originY) / cellSize) - 1;
+
+        if (startColumn < 0 || startRow < 0 || endColumn >= columns || endRow >= rows) return Result.PARTIAL;
+
+        boolean touchesPartial = false;
+        int startWord = startColumn >>> 6;
+        int endWord = endColumn >>> 6;
+
+        for (int row = startRow; row <= endRow; row++) {
+            int rowOffset = row * rowWords;
+            for (int word = startWord; word <= endWord; word++) {
+                long bits = wordMask(word, startColumn, endColumn);
+                if ((solid[rowOffset + word] & bits) != 0) return Result.BLOCKED;
+                if ((partial[rowOffset + word] & bits) != 0) touchesPartial = true;
+            }
+        }
+        return touchesPartial ? Result.PARTIAL : Result.FREE;
+    }
+
+    /**
+     * Builds the bit mask selecting columns {@code startColumn..endColumn} within a single word.
+     */
+    private static long wordMask(int word, int startColumn, int endColumn) {
+        int low = Math.max(startColumn - (word << 6), 0);
+        int high = Math.min(endColumn - (word << 6), 63);
+        long upper = high == 63 ? -1L : (1L << (high + 1)) - 1;
+        return upper & (-1L << low);
+    }
+
+    /**
+     * Sets the bit of a cell in a bit plane.
+     */
+    private void set(long[] plane, int column, int row) {
+        plane[row * rowWords + (column >>> 6)] |= 1L << (column & 63);
+    }
+
+    /**
+     * Clamps a column index to the mask.
+     */
+    private int clampColumn(int column) {
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    /**
+     * Clamps a row index to the mask.
+     */
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    /**
+     * Gets the size of a single mask cell.
+     *
+     * @return the cell size in world units
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+}
@@ -0,0 +1,196 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import io.mygame.enums.FramePhase;
+
+import java.util.Arrays;
+
+/**
+ * Times the phases of a frame and shows them in an on-screen overlay, toggled with {@link #TOGGLE_KEY}.
+ * Every phase keeps its last {@value #WINDOW} durations in a ring buffer, and the overlay shows their median,
+ * 95th and 99th percentile in milliseconds, so a single slow frame does not hide the typical cost and a
+ * recurring spike is not averaged away. The durations are CPU time: the GPU works asynchronously, so the
+ * cost of submitted draw calls mostly shows up in the phase that waits for it, usually the buffer swap
+ * outside of the frame.
+ * <p>
+ * While the overlay is shown, libGDX's {@link GLProfiler} is enabled and the overlay also shows the draw calls,
+ * texture bindings and shader switches of the last frame. It is disabled again when the overlay is hidden,
+ * since it wraps every GL call.
+ */
+public class FrameProfiler implements Disposable {
+    /************ SETTINGS ************/
+    public static final int TOGGLE_KEY = Input.Keys.F3;
+    private static final int WINDOW = 240;
+    private static final float REFRESH_INTERVAL = 0.25f;
+    private static final float NANOS_PER_MILLI = 1_000_000f;
+
+    /************ TIMINGS ************/
+    private final long[] starts;
+    private final long[][] samples;
+    private final int[] counts;
+    private final int[] cursors;
+    private final long[] scratch;
+
+    /************ GL COUNTERS ************/
+    private final GLProfiler glProfiler;
+    private int drawCalls, textureBindings, shaderSwitches;
+
+    /************ OVERLAY ************/
+    private final StringBuilder text;
+    private BitmapFont font;
+    private SpriteBatch batch;
+    private boolean visible;
+    private float refreshTimer;
+
+    /**
+     * Constructs a frame profiler with its overlay hidden.
+     */
+    public FrameProfiler() {
+        int phases = FramePhase.values().length;
+        starts = new long[phases];
+        samples = new long[phases][WINDOW];
+        counts = new int[phases];
+        cursors = new int[phases];
+        scratch = new long[WINDOW];
+
+        glProfiler = new GLProfiler(Gdx.graphics);
+        text = new StringBuilder();
+    }
+
+    /**
+     * Starts a frame. Toggles the overlay if its key was pressed and starts timing {@link FramePhase#FRAME}.
+     */
+    public void beginFrame() {
+        if (Gdx.input.isKeyJustPressed(TOGGLE_KEY)) setVisible(!visible);
+        if (visible) glProfiler.reset();
+        begin(FramePhase.FRAME);
+    }
+
+    /**
+     * Ends a frame and draws the overlay if it is shown. The GL counters are read before the overlay is drawn,
+     * so they only count the frame itself.
+     *
+     * @param delta the time in seconds since the last frame
+     */
+    public void endFrame(float delta) {
+        end(FramePhase.FRAME);
+        if (!visible) return;
+
+        drawCalls = glProfiler.getDrawCalls();
+        textureBindings = glProfiler.getTextureBindings();
+        shaderSwitches = glProfiler.getShaderSwitches();
+
+        refreshTimer -= delta;
+        if (refreshTimer <= 0f) {
+            refreshTimer = REFRESH_INTERVAL;
+            buildText();
+        }
+
+        batch.getProjectionMatrix().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.begin();
+        font.draw(batch, text, 8, Gdx.graphics.getHeight() - 8);
+        batch.end();
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param phase the phase
+     */
+    public void begin(FramePhase phase) {
+        starts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing a phase and records its duration.
+     *
+     * @param phase the phase, which must have been started
+     */
+    public void end(FramePhase phase) {
+        int index = phase.ordinal();
+        samples[index][cursors[index]] = System.nanoTime() - starts[index];
+        cursors[index] = (cursors[index] + 1) % WINDOW;
+        if (counts[index] < WINDOW) counts[index]++;
+    }
+
+    /**
+     * Gets a percentile of the recorded durations of a phase.
+     *
+     * @param phase      the phase
+     * @param percentile the percentile between 0 and 1
+     * @return the duration in milliseconds, or 0 if the phase has not been recorded
+     */
+    public float getPercentile(FramePhase phase, float percentile) {
+        int index = phase.ordinal();
+        int count = counts[index];
+        if (count == 0) return 0f;
+
+        System.arraycopy(samples[index], 0, scratch, 0, count);
+        Arrays.sort(scratch, 0, count);
+        return scratch[Math.min(count - 1, (int) (percentile * count))] / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Writes the overlay text from the current percentiles and GL counters.
+     */
+    private void buildText() {
+        text.setLength(0);
+        text.append(Gdx.graphics.getFramesPerSecond()).append(" fps   ")
+            .append(drawCalls).append(" draw calls   ")
+            .append(textureBindings).append(" texture binds   ")
+            .append(shaderSwitches).append(" shader switches\n")
+            .append("phase                 p50     p95     p99  (ms)\n");
+
+        for (FramePhase phase : FramePhase.values()) {
+            text.append(String.format("%-18s %7.2f %7.2f %7.2f%n", phase.getLabel(),
+                getPercentile(phase, 0.5f), getPercentile(phase, 0.95f), getPercentile(phase, 0.99f)));
+        }
+    }
+
+    /**
+     * Shows or hides the overlay. The overlay's font and batch are created the first time it is shown.
+     *
+     * @param visible true to show the overlay
+     */
+    public void setVisible(boolean visible) {
+        this.visible = visible;
+        if (visible) {
+            if (font == null) {
+                font = new BitmapFont();
+                batch = new SpriteBatch();
+            }
+            glProfiler.enable();
+            refreshTimer = 0f;
+        } else {
+            glProfiler.disable();
+        }
+    }
+
+    /**
+     * Checks whether the overlay is shown.
+     *
+     * @return true if the overlay is shown
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Disables the GL profiler and disposes the overlay's font and batch.
+     */
+    @Override
+    public void dispose() {
+        glProfiler.disable();
+        if (font != null) {
+            font.dispose();
+            batch.dispose();
+            font = null;
+            batch = null;
+        }
+    }
+}
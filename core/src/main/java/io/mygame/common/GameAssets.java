@@ -0,0 +1,309 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The GameAssets class loads the assets the game screen needs and shares them between screens.
+ * {@link #preload()} queues the UI skin, the character sprite sheets, the campus map and the dialogue file on
+ * libGDX {@link AssetManager}s, which read and decode them on a background thread while {@link #update()} is
+ * called every frame, e.g. while the intro screen shows its instructions. Once everything has loaded, the game
+ * screen acquires the assets without blocking and {@link #releasePreloaded()} drops the references the preload
+ * held. Assets acquired without a preload are loaded synchronously, as before.
+ * <p>
+ * Sprite sheets are queued on the {@link TextureCache}, so characters keep sharing them. Compiled maps are
+ * memory-mapped by their own loaders and are only located here, since they open without parsing. Images are
+ * decoded ahead on the {@link PixmapDecoder}'s worker pool, and the asset managers only upload them.
+ * The GameAssets class follows a singleton pattern.
+ */
+public class GameAssets {
+    /************ SINGLETON INSTANCE ************/
+    private static GameAssets instance;
+
+    /************ ASSET PATHS ************/
+    public static final String UI_SKIN = "skins/uiSkins/ui.json";
+    public static final String DIALOGUE_PATH = "dialogues/dialogue.json";
+    public static final String MAP_PATH = "PixelMaps/TestMap.tmx";
+    public static final String TRIMMED_MAP_PATH = "PixelMaps/TestMap_trimmed.tmx";
+    public static final String FLAT_MAP_PATH = "PixelMaps/TestMap_flat.tmx";
+    public static final String BINARY_MAP_PATH = "PixelMaps/TestMap.wcm";
+    public static final String CHUNKED_MAP_PATH = "PixelMaps/TestMap.wcmc";
+    public static final String YELLOW_SKIN = "skins/main_menu_button/yellow/yellow.json";
+    public static final String RED_SKIN = "skins/main_menu_button/red/red.json";
+    public static final String MENU_ATLAS = "atlas/menu.atlas";
+    public static final String MENU_BACKGROUND = "images/main_menu_bg.png";
+    private static final String[] SPRITE_SHEETS = {
+        "sprites/Player.png", "sprites/Guard1.png", "sprites/Guard2.png", "sprites/CollegeMale1.png",
+        "sprites/CollegeMale2.png", "sprites/CollegeFemale1.png", "sprites/CollegeFemale2.png",
+        "sprites/MaleTeacher.png", "sprites/FemaleTeacher.png", "sprites/Janitor.png", "sprites/BrunoCat.png"
+    };
+
+    /************ ASSET LOADING ************/
+    private final AssetManager assetManager;
+    private final Array<AssetDescriptor<?>> preloaded;
+    private boolean preloading;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private GameAssets() {
+        InternalFileHandleResolver resolver = new InternalFileHandleResolver();
+        assetManager = new AssetManager(resolver);
+        assetManager.setLoader(String.class, new TextLoader(resolver));
+        assetManager.setLoader(Texture.class, new PixmapDecoder.TextureLoader(resolver));
+        preloaded = new Array<>();
+    }
+
+    /**
+     * Gets the singleton instance of the GameAssets.
+     * @return The GameAssets instance.
+     */
+    public static GameAssets getInstance() {
+        if (instance == null) instance = new GameAssets();
+        return instance;
+    }
+
+    /**
+     * Starts decoding the images of the main menu on the {@link PixmapDecoder}'s worker pool, so they are ready
+     * by the time the menu acquires its skins and background. Called once when the game starts.
+     */
+    public void decodeMenuAssets() {
+        decodeAhead(UI_SKIN, Skin.class);
+        decodeAhead(YELLOW_SKIN, Skin.class);
+        decodeAhead(RED_SKIN, Skin.class);
+        if (Gdx.files.internal(MENU_ATLAS).exists()) decodeAhead(MENU_ATLAS, TextureAtlas.class);
+        else decodeAhead(MENU_BACKGROUND, Texture.class);
+    }
+
+    /**
+     * Starts decoding the images of an asset that is not loaded or queued yet.
+     *
+     * @param path the internal path of the asset
+     * @param type the type of the asset
+     */
+    private void decodeAhead(String path, Class<?> type) {
+        if (assetManager.contains(path)) return;
+
+        FileHandle file = Gdx.files.internal(path);
+        PixmapDecoder decoder = PixmapDecoder.getInstance();
+        if (type == Texture.class) {
+            decoder.decode(file);
+        } else if (type == TextureAtlas.class) {
+            decoder.decodeAtlasPages(file);
+        } else if (type == Skin.class) {
+            decoder.decodeAtlasPages(file.sibling(file.nameWithoutExtension() + ".atlas"));
+        } else if (type == TiledMap.class) {
+            decoder.decodeMapTilesets(file);
+        }
+    }
+
+    /**
+     * Queues every asset of the game screen for asynchronous loading. Does nothing if a preload is already
+     * pending.
+     */
+    public void preload() {
+        if (preloading) return;
+        preloading = true;
+
+        preload(new AssetDescriptor<>(UI_SKIN, Skin.class));
+        preload(new AssetDescriptor<>(DIALOGUE_PATH, String.class));
+        String mapPath = getMapPath();
+        if (mapPath.endsWith(".tmx")) preload(new AssetDescriptor<>(mapPath, TiledMap.class));
+
+        TextureCache textureCache = TextureCache.getInstance();
+        for (String path : SPRITE_SHEETS) {
+            if (Gdx.files.internal(path).exists()) textureCache.preload(path);
+        }
+    }
+
+    /**
+     * Queues one asset and remembers the reference the preload holds on it.
+     *
+     * @param descriptor the asset to load
+     */
+    private void preload(AssetDescriptor<?> descriptor) {
+        decodeAhead(descriptor.fileName, descriptor.type);
+        assetManager.load(descriptor);
+        preloaded.add(descriptor);
+    }
+
+    /**
+     * Continues loading the queued assets for a short time slice. Must be called on the render thread.
+     *
+     * @return True if every queued asset has loaded, false otherwise.
+     */
+    public boolean update() {
+        boolean done = assetManager.update();
+        return TextureCache.getInstance().update() && done;
+    }
+
+    /**
+     * Gets the loading progress of the queued assets, with the sprite sheets weighing as much as the rest.
+     *
+     * @return The progress between 0 and 1.
+     */
+    public float getProgress() {
+        return (assetManager.getProgress() + TextureCache.getInstance().getProgress()) / 2f;
+    }
+
+    /**
+     * Releases the references held by the last preload. Called once the game screen has acquired its own
+     * references, so the assets stay loaded for as long as the screen uses them.
+     */
+    public void releasePreloaded() {
+        if (!preloading) return;
+        preloading = false;
+
+        for (AssetDescriptor<?> descriptor : preloaded) {
+            if (assetManager.isLoaded(descriptor.fileName)) assetManager.unload(descriptor.fileName);
+        }
+        preloaded.clear();
+        PixmapDecoder.getInstance().discardPending();
+
+        TextureCache textureCache = TextureCache.getInstance();
+        for (String path : SPRITE_SHEETS) {
+            if (Gdx.files.internal(path).exists()) textureCache.release(path);
+        }
+    }
+
+    /**
+     * Chooses the campus map to load. The chunked map written by the {@code chunkMap} task is preferred since
+     * only the regions around the camera are loaded, then the binary map written by the {@code compileMap} task
+     * since it loads without XML parsing. Either is only used as long as it is not older than the TMX map it was
+     * compiled from. Otherwise the flattened map written by the {@code flattenLayers} task is preferred since it
+     * draws fewer layers, then the trimmed map written by the {@code trimTilesets} task since it only loads the
+     * tiles the map uses, and the original map is used when none has been generated.
+     *
+     * @return the internal path of the map
+     */
+    public String getMapPath() {
+        FileHandle tmx = Gdx.files.internal(FLAT_MAP_PATH);
+        if (!tmx.exists()) tmx = Gdx.files.internal(TRIMMED_MAP_PATH);
+        if (!tmx.exists()) tmx = Gdx.files.internal(MAP_PATH);
+
+        FileHandle chunked = Gdx.files.internal(CHUNKED_MAP_PATH);
+        if (chunked.exists() && chunked.lastModified() >= tmx.lastModified()) return CHUNKED_MAP_PATH;
+
+        FileHandle binary = Gdx.files.internal(BINARY_MAP_PATH);
+        if (binary.exists() && binary.lastModified() >= tmx.lastModified()) return BINARY_MAP_PATH;
+        return tmx.path();
+    }
+
+    /**
+     * Acquires a reference to a TMX map, loading it on first use.
+     * Every call must be balanced by a call to {@link #release(String)}.
+     *
+     * @param path the internal path of the map
+     * @return the shared map
+     */
+    public TiledMap acquireMap(String path) {
+        return acquire(path, TiledMap.class);
+    }
+
+    /**
+     * Acquires a reference to the UI skin, loading it on first use.
+     * Every call must be balanced by a call to {@link #release(String)} with {@link #UI_SKIN}.
+     *
+     * @return the shared skin
+     */
+    public Skin acquireSkin() {
+        return acquire(UI_SKIN, Skin.class);
+    }
+
+    /**
+     * Acquires a reference to a text file, loading it on first use.
+     * Every call must be balanced by a call to {@link #release(String)}.
+     *
+     * @param path the internal path of the file
+     * @return the content of the file
+     */
+    public String acquireText(String path) {
+        return acquire(path, String.class);
+    }
+
+    /**
+     * Acquires a reference to an asset, waiting for it if it has not finished loading.
+     * Every call must be balanced by a call to {@link #release(String)}.
+     *
+     * @param path the internal path of the asset
+     * @param type the type of the asset
+     * @param <T>  the type of the asset
+     * @return the loaded asset
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        decodeAhead(path, type);
+        assetManager.load(path, type);
+        assetManager.finishLoadingAsset(path);
+        return assetManager.get(path, type);
+    }
+
+    /**
+     * Releases one reference to an asset. The asset is disposed when the last reference is released.
+     *
+     * @param path the internal path of the asset
+     */
+    public void release(String path) {
+        if (assetManager.isLoaded(path)) assetManager.unload(path);
+    }
+
+    /**
+     * Loads a text file as a string, reading it on the loading thread.
+     */
+    private static class TextLoader extends AsynchronousAssetLoader<String, TextLoader.TextParameter> {
+        /************ LOADED TEXT ************/
+        private String text;
+
+        /**
+         * Constructs a TextLoader.
+         *
+         * @param resolver the resolver for file names
+         */
+        TextLoader(FileHandleResolver resolver) {
+            super(resolver);
+        }
+
+        /**
+         * Reads the file on the loading thread.
+         */
+        @Override
+        public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextParameter parameter) {
+            text = file.readString("UTF-8");
+        }
+
+        /**
+         * Hands the text read by {@link #loadAsync} to the asset manager.
+         */
+        @Override
+        public String loadSync(AssetManager manager, String fileName, FileHandle file, TextParameter parameter) {
+            String result = text;
+            text = null;
+            return result;
+        }
+
+        /**
+         * Text files have no dependencies.
+         */
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, TextParameter parameter) {
+            return null;
+        }
+
+        /**
+         * Loading parameters of a text file, of which there are none.
+         */
+        static class TextParameter extends AssetLoaderParameters<String> {
+        }
+    }
+}
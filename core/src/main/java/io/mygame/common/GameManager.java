@@ -19,6 +19,7 @@ public class GameManager implements Serializable {
 
     /************ GAME SETTINGS ************/
     private float volume;
+    private boolean npcFootsteps;
     private int[] playerPosition;
 
     /************ GAME PROGRESS ************/
@@ -78,6 +79,14 @@ public class GameManager implements Serializable {
         }
     }
 
+    /**
+     * Sets whether the footsteps of walking NPCs are heard. Takes effect the next time the game screen is shown.
+     * @param npcFootsteps True to play the footsteps of NPCs near the player.
+     */
+    public void setNpcFootsteps(boolean npcFootsteps) {
+        this.npcFootsteps = npcFootsteps;
+    }
+
     /**
      * Sets the player's position using an array of coordinates [x, y].
      * @param playerPosition An array representing the player's position.
@@ -170,6 +179,14 @@ public class GameManager implements Serializable {
         return volume;
     }
 
+    /**
+     * Gets whether the footsteps of walking NPCs are heard.
+     * @return True if the footsteps of NPCs near the player are played, false otherwise.
+     */
+    public boolean getNpcFootsteps() {
+        return npcFootsteps;
+    }
+
     /**
      * Gets the SoundManager instance.
      * @return The SoundManager instance.
@@ -239,6 +256,7 @@ public class GameManager implements Serializable {
         npcFound = 0;
         buildingsFound = 0;
         volume = 1.0f;
+        npcFootsteps = true;
 
         playerPosition = new int[]{1744, 175};
 
@@ -0,0 +1,191 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.math.Rectangle;
+
+import java.util.List;
+
+/**
+ * A render pass of static tile layers baked into {@link SpriteCache} chunks.
+ * The map is divided into square chunks of tiles, and the cells of every layer in the pass are uploaded once per
+ * chunk, in layer order, into a cache of the shared SpriteCache. Only the occupied cells of each
+ * {@link SparseTileLayer} are visited while baking. Rendering then only submits the chunks whose
+ * bounds intersect the view, and no vertices are built on the CPU per frame.
+ * <p>
+ * Vertices are built exactly like {@link com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer} builds
+ * them, including cell flips and rotations, layer offsets and layer opacity. Parallax is not applied, and tiles
+ * are assigned to the chunk of their cell, so a tile of an offset layer drawn across a chunk edge is ordered with
+ * the chunk of its cell.
+ */
+public class LayerChunkCache {
+    /************ VERTEX LAYOUT ************/
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 6 * VERTEX_SIZE;
+
+    /************ CHUNKS ************/
+    private final SpriteCache cache;
+    private final int chunkSize;
+    private final int chunkColumns, chunkRows;
+    private final int[] cacheIds;
+    private final Rectangle[] chunkBounds;
+
+    /************ SCRATCH ************/
+    private final float[] vertices = new float[SPRITE_SIZE];
+    private final float[] corners = new float[8];
+
+    /**
+     * Bakes the given layers into chunks of the shared sprite cache.
+     * The layers must all have the same size in tiles.
+     *
+     * @param cache     the sprite cache receiving the chunks; it must not be used with indices
+     * @param layers    the layers of the pass in drawing order
+     * @param chunkSize the width and height of a chunk in tiles
+     */
+    public LayerChunkCache(SpriteCache cache, List<SparseTileLayer> layers, int chunkSize) {
+        this.cache = cache;
+        this.chunkSize = chunkSize;
+
+        int width = layers.isEmpty() ? 0 : layers.get(0).getWidth();
+        int height = layers.isEmpty() ? 0 : layers.get(0).getHeight();
+        chunkColumns = (width + chunkSize - 1) / chunkSize;
+        chunkRows = (height + chunkSize - 1) / chunkSize;
+        cacheIds = new int[chunkColumns * chunkRows];
+        chunkBounds = new Rectangle[chunkColumns * chunkRows];
+
+        for (int chunkRow = 0; chunkRow < chunkRows; chunkRow++) {
+            for (int chunkColumn = 0; chunkColumn < chunkColumns; chunkColumn++) {
+                bakeChunk(layers, chunkColumn, chunkRow);
+            }
+        }
+    }
+
+    /**
+     * Counts the cells that would be baked for a list of layers, to size the shared sprite cache.
+     *
+     * @param layers the layers to count
+     * @return the number of cells with a tile
+     */
+    public static int countTiles(List<SparseTileLayer> layers) {
+        int count = 0;
+        for (SparseTileLayer layer : layers) {
+            if (layer.isVisible()) count += layer.getCellCount();
+        }
+        return count;
+    }
+
+    /**
+     * Uploads the cells of every layer that fall into a chunk as one cache.
+     *
+     * @param layers      the layers of the pass in drawing order
+     * @param chunkColumn the column of the chunk
+     * @param chunkRow    the row of the chunk
+     */
+    private void bakeChunk(List<SparseTileLayer> layers, int chunkColumn, int chunkRow) {
+        int chunk = chunkRow * chunkColumns + chunkColumn;
+        Rectangle bounds = null;
+
+        cache.beginCache();
+        for (SparseTileLayer layer : layers) {
+            if (!layer.isVisible()) continue;
+
+            float color = Color.toFloatBits(1f, 1f, 1f, layer.getOpacity());
+            int startX = chunkColumn * chunkSize;
+            int startY = chunkRow * chunkSize;
+            int endX = Math.min(startX + chunkSize, layer.getWidth());
+            int endY = Math.min(startY + chunkSize, layer.getHeight());
+
+            for (int row = startY; row < endY; row++) {
+                int end = layer.getRowEnd(row);
+                for (int index = layer.findCell(row, startX); index < end; index++) {
+                    int column = layer.getColumn(index);
+                    if (column >= endX) break;
+
+                    Cell cell = layer.getCell(index);
+                    TiledMapTile tile = cell.getTile();
+                    TextureRegion region = tile.getTextureRegion();
+                    float x = column * layer.getTileWidth() + tile.getOffsetX() + layer.getOffsetX();
+                    float y = row * layer.getTileHeight() + tile.getOffsetY() + layer.getOffsetY();
+                    buildVertices(cell, region, x, y, color);
+                    cache.add(region.getTexture(), vertices, 0, SPRITE_SIZE);
+
+                    if (bounds == null) bounds = new Rectangle(x, y, 0, 0);
+                    bounds.merge(x, y).merge(x + region.getRegionWidth(), y + region.getRegionHeight());
+                }
+            }
+        }
+        int id = cache.endCache();
+
+        cacheIds[chunk] = bounds != null ? id : -1;
+        chunkBounds[chunk] = bounds;
+    }
+
+    /**
+     * Builds the six vertices of a cell, applying its flips and rotation to the texture coordinates.
+     *
+     * @param cell   the cell to build
+     * @param region the texture region of the cell's tile
+     * @param x      the left edge of the tile in world units
+     * @param y      the bottom edge of the tile in world units
+     * @param color  the packed vertex color
+     */
+    private void buildVertices(Cell cell, TextureRegion region, float x, float y, float color) {
+        float x2 = x + region.getRegionWidth();
+        float y2 = y + region.getRegionHeight();
+
+        SparseTileLayer.getTextureCorners(cell, region, corners);
+        float u1 = corners[0], v1 = corners[1];
+        float u2 = corners[2], v2 = corners[3];
+        float u3 = corners[4], v3 = corners[5];
+        float u4 = corners[6], v4 = corners[7];
+
+        // Two triangles without indices: bottom-left, top-left, top-right and top-right, bottom-right, bottom-left
+        putVertex(0, x, y, color, u1, v1);
+        putVertex(1, x, y2, color, u2, v2);
+        putVertex(2, x2, y2, color, u3, v3);
+        putVertex(3, x2, y2, color, u3, v3);
+        putVertex(4, x2, y, color, u4, v4);
+        putVertex(5, x, y, color, u1, v1);
+    }
+
+    /**
+     * Writes one vertex into the scratch vertex array.
+     */
+    private void putVertex(int index, float x, float y, float color, float u, float v) {
+        int offset = index * VERTEX_SIZE;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = color;
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
+    }
+
+    /**
+     * Draws the chunks that intersect the view. Must be called between {@link SpriteCache#begin()} and
+     * {@link SpriteCache#end()}.
+     *
+     * @param viewBounds the visible area in world units
+     */
+    public void render(Rectangle viewBounds) {
+        for (int chunk = 0; chunk < cacheIds.length; chunk++) {
+            if (cacheIds[chunk] < 0 || !viewBounds.overlaps(chunkBounds[chunk])) continue;
+            cache.draw(cacheIds[chunk]);
+        }
+    }
+
+    /**
+     * Gets the number of chunks that hold at least one tile.
+     *
+     * @return the number of non-empty chunks
+     */
+    public int getChunkCount() {
+        int count = 0;
+        for (int id : cacheIds) {
+            if (id >= 0) count++;
+        }
+        return count;
+    }
+}
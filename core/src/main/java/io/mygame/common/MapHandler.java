@@ -1,11 +1,20 @@
 package io.mygame.common;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
 import com.badlogic.gdx.maps.MapLayer;
 import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,63 +22,182 @@ import java.util.List;
 /**
  * The MapHandler class manages the loading and rendering of layers in a TiledMap.
  * It separates the map layers into background and foreground layers and provides methods
- * to load and render them using an OrthogonalTiledMapRenderer.
+ * to load and render them.
+ * <p>
+ * In cached mode, which is the default, both passes are baked once into {@link LayerChunkCache} chunks of a
+ * shared {@link SpriteCache}, and each frame only submits the chunks in view. In immediate mode, every layer is
+ * drawn with a SpriteBatch each frame, which is required when tiles are animated.
+ * <p>
+ * The cells of every tile layer are copied into {@link SparseTileLayer}s when the handler is created, so
+ * rendering skips the empty ones. The map itself is left untouched, since it is shared with the other holders
+ * of the loaded asset.
+ * <p>
+ * A {@link ChunkedMap} is rendered in immediate mode from the cells of its active regions.
  */
 public class MapHandler {
     /************ FIELDS ************/
-    private final OrthogonalTiledMapRenderer renderer;
-    private final List<TiledMapTileLayer> background;
-    private final List<TiledMapTileLayer> foreground;
+    private final SpriteBatch batch;
+    private final List<SparseTileLayer> background;
+    private final List<SparseTileLayer> foreground;
+
+    /************ STREAMED RENDERING ************/
+    private final ChunkedMap chunkedMap;
+    private final IntArray backgroundLayers;
+    private final IntArray foregroundLayers;
+
+    /************ CACHED RENDERING ************/
+    public static final int CHUNK_SIZE = 32;
+    private SpriteCache spriteCache;
+    private LayerChunkCache backgroundCache;
+    private LayerChunkCache foregroundCache;
+    private final Rectangle viewBounds = new Rectangle();
+
+    /**
+     * Constructor that initializes the MapHandler with a given TiledMap in cached mode.
+     *
+     * @param map The TiledMap to be processed.
+     */
+    public MapHandler(TiledMap map) {
+        this(map, true);
+    }
 
     /**
      * Constructor that initializes the MapHandler with a given TiledMap.
      * Processes each layer in the map, categorizing them as either background or foreground
      * based on their properties.
      *
-     * @param map The TiledMap to be processed.
+     * @param map    The TiledMap to be processed.
+     * @param cached True to bake the layers into sprite cache chunks, false to render them every frame.
+     *               Maps with animated tiles are always rendered every frame.
      */
-    public MapHandler(TiledMap map) {
+    public MapHandler(TiledMap map, boolean cached) {
         MapLayers mapLayers = map.getLayers();
-        renderer = new OrthogonalTiledMapRenderer(map);
+        batch = new SpriteBatch();
 
         background = new ArrayList<>();
         foreground = new ArrayList<>();
+        chunkedMap = null;
+        backgroundLayers = new IntArray();
+        foregroundLayers = new IntArray();
 
         // Iterate through each layer
         for (MapLayer layer : mapLayers) {
-            try {
-                String layerName = layer.getName();
-                System.out.println("Layer Name: " + (layerName != null ? layerName : "Unnamed Layer"));
-
-                if (layer instanceof TiledMapTileLayer tileLayer) {
-                    String type;
-                    try {
-                        type = tileLayer.getProperties().get("type", String.class);
-                    } catch (ClassCastException e) {
-                        System.err.println("Error: 'type' property in layer '" + layerName + "' is not a String.");
-                        throw new RuntimeException("Error: " + e.getMessage());
-                    }
-
-                    if (type != null) {
-                        if (type.equals("foreground")) {
-                            foreground.add(tileLayer);
-                            System.out.println("FOREGROUND FOUND");
-                        } else {
-                            background.add(tileLayer);
-                            System.out.println("BACKGROUND FOUND");
-                        }
-                    } else {
-                        background.add(tileLayer);
-                        System.out.println("BACKGROUND FOUND");
-                    }
+            if (layer instanceof TiledMapTileLayer tileLayer) {
+                SparseTileLayer sparseLayer = new SparseTileLayer(tileLayer);
+
+                if (isForeground(tileLayer)) {
+                    foreground.add(sparseLayer);
+                } else {
+                    background.add(sparseLayer);
                 }
-            } catch (Exception e) {
-                System.err.println("An error occurred while processing a layer: " + e.getMessage());
+            }
+        }
+
+        if (cached && !hasAnimatedTiles(map)) {
+            bakeLayers();
+        }
+    }
+
+    /**
+     * Constructor that initializes the MapHandler with a streamed map.
+     * The tile layers are categorized like those of a TiledMap, and each frame the cells of the active regions
+     * are drawn with the sprite batch, since regions come and go too often to bake them into a sprite cache.
+     *
+     * @param chunkedMap The streamed map to render.
+     */
+    public MapHandler(ChunkedMap chunkedMap) {
+        this.chunkedMap = chunkedMap;
+        batch = new SpriteBatch();
+
+        background = new ArrayList<>();
+        foreground = new ArrayList<>();
+        backgroundLayers = new IntArray();
+        foregroundLayers = new IntArray();
+
+        for (int i = 0; i < chunkedMap.getTileLayerCount(); i++) {
+            if (isForeground(chunkedMap.getTileLayer(i))) {
+                foregroundLayers.add(i);
+            } else {
+                backgroundLayers.add(i);
+            }
+        }
+    }
+
+    /**
+     * Checks whether a tile layer belongs to the foreground, based on its 'type' property.
+     *
+     * @param layer The tile layer to categorize.
+     * @return True if the layer is drawn above the entities, false otherwise.
+     */
+    private static boolean isForeground(MapLayer layer) {
+        try {
+            String layerName = layer.getName();
+            System.out.println("Layer Name: " + (layerName != null ? layerName : "Unnamed Layer"));
+
+            String type;
+            try {
+                type = layer.getProperties().get("type", String.class);
+            } catch (ClassCastException e) {
+                System.err.println("Error: 'type' property in layer '" + layerName + "' is not a String.");
                 throw new RuntimeException("Error: " + e.getMessage());
             }
+
+            if (type != null && type.equals("foreground")) {
+                System.out.println("FOREGROUND FOUND");
+                return true;
+            }
+            System.out.println("BACKGROUND FOUND");
+            return false;
+        } catch (Exception e) {
+            System.err.println("An error occurred while processing a layer: " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
         }
     }
 
+    /**
+     * Checks whether any tileset of the map contains animated tiles, which a sprite cache cannot animate.
+     *
+     * @param map The TiledMap to check.
+     * @return True if the map has animated tiles, false otherwise.
+     */
+    private static boolean hasAnimatedTiles(TiledMap map) {
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                if (tile instanceof AnimatedTiledMapTile) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bakes the background and foreground layers into chunks of a sprite cache sized to hold every tile.
+     */
+    private void bakeLayers() {
+        int tiles = LayerChunkCache.countTiles(background) + LayerChunkCache.countTiles(foreground);
+        spriteCache = new SpriteCache(Math.max(1, tiles), false);
+
+        backgroundCache = new LayerChunkCache(spriteCache, background, CHUNK_SIZE);
+        foregroundCache = new LayerChunkCache(spriteCache, foreground, CHUNK_SIZE);
+        Gdx.app.debug("MapHandler", "Baked " + tiles + " tiles into " +
+            (backgroundCache.getChunkCount() + foregroundCache.getChunkCount()) + " map chunks");
+    }
+
+    /**
+     * Draws the chunks of a baked pass that are in view, with alpha blending for layer opacity.
+     *
+     * @param pass The baked pass to draw.
+     */
+    private void renderCached(LayerChunkCache pass) {
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        spriteCache.begin();
+        pass.render(viewBounds);
+        spriteCache.end();
+
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
     /**
      * Loads and renders the background layers.
      * This method sets the camera view and renders each background layer.
@@ -77,14 +205,23 @@ public class MapHandler {
      * @param camera The camera to set the view for the renderer.
      */
     public void loadBackground(OrthographicCamera camera) {
-        renderer.setView(camera);
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        viewBounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
 
-        renderer.getBatch().begin();
+        if (spriteCache != null) {
+            spriteCache.setProjectionMatrix(camera.combined);
+            renderCached(backgroundCache);
+            return;
+        }
 
-        for (TiledMapTileLayer layer : background) {
-            renderer.renderTileLayer(layer);
+        AnimatedTiledMapTile.updateAnimationBaseTime();
+        batch.setProjectionMatrix(camera.combined);
+        if (chunkedMap != null) {
+            renderRegions(backgroundLayers);
+            return;
         }
-        renderer.getBatch().end();
+        renderImmediate(background);
     }
 
     /**
@@ -92,17 +229,56 @@ public class MapHandler {
      * This method renders each foreground layer.
      */
     public void loadForeground() {
-        renderer.getBatch().begin();
-        for (TiledMapTileLayer layer : foreground) {
-            renderer.renderTileLayer(layer);
+        if (spriteCache != null) {
+            renderCached(foregroundCache);
+            return;
+        }
+
+        if (chunkedMap != null) {
+            renderRegions(foregroundLayers);
+            return;
+        }
+        renderImmediate(foreground);
+    }
+
+    /**
+     * Draws the visible cells of a pass from every active region of the streamed map. Layers are drawn one at a
+     * time across all regions, so the layer order holds across region borders.
+     *
+     * @param pass The indices of the tile layers of the pass in drawing order.
+     */
+    private void renderRegions(IntArray pass) {
+        Array<MapRegion> regions = chunkedMap.getActiveRegions();
+
+        batch.begin();
+        for (int i = 0; i < pass.size; i++) {
+            int layer = pass.get(i);
+            for (int j = 0; j < regions.size; j++) {
+                SparseTileLayer cells = regions.get(j).getTileLayer(layer);
+                if (cells != null) cells.render(batch, viewBounds);
+            }
+        }
+        batch.end();
+    }
+
+    /**
+     * Draws the visible cells of a pass with the sprite batch.
+     *
+     * @param pass The layers of the pass in drawing order.
+     */
+    private void renderImmediate(List<SparseTileLayer> pass) {
+        batch.begin();
+        for (SparseTileLayer layer : pass) {
+            layer.render(batch, viewBounds);
         }
-        renderer.getBatch().end();
+        batch.end();
     }
 
     /**
-     * Disposes of the renderer to free up resources.
+     * Disposes of the sprite batch and the sprite cache to free up resources.
      */
     public void dispose() {
-        renderer.dispose();
+        batch.dispose();
+        if (spriteCache != null) spriteCache.dispose();
     }
 }
@@ -0,0 +1,85 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObjects;
+
+/**
+ * One fixed-size region of a {@link ChunkedMap}, decoded and ready to use.
+ * A region holds the occupied cells of every tile layer that fall inside it and the objects of every object
+ * layer that overlap it. An object that spans several regions is stored in each of them, and the chunked map
+ * adds it to its object layers only once.
+ */
+public class MapRegion {
+    /************ POSITION ************/
+    private final int column;
+    private final int row;
+
+    /************ CONTENT ************/
+    private final SparseTileLayer[] tileLayers;
+    private final MapLayer[] objectLayers;
+    private final long sizeInBytes;
+
+    /**
+     * Constructs a decoded region.
+     *
+     * @param column       the column of the region in the region grid
+     * @param row          the row of the region in the region grid, counted from the bottom
+     * @param tileLayers   the cells of every tile layer, with null for layers without cells in the region
+     * @param objectLayers the objects of every object layer that overlap the region
+     * @param sizeInBytes  the estimated memory used by the region
+     */
+    public MapRegion(int column, int row, SparseTileLayer[] tileLayers, MapLayer[] objectLayers, long sizeInBytes) {
+        this.column = column;
+        this.row = row;
+        this.tileLayers = tileLayers;
+        this.objectLayers = objectLayers;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    /**
+     * Gets the column of the region in the region grid.
+     *
+     * @return the region column
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the row of the region in the region grid, counted from the bottom of the map.
+     *
+     * @return the region row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the cells of a tile layer inside the region.
+     *
+     * @param layer the index of the tile layer in document order
+     * @return the cells of the layer, or null if the layer has no cells in the region
+     */
+    public SparseTileLayer getTileLayer(int layer) {
+        return tileLayers[layer];
+    }
+
+    /**
+     * Gets the objects of an object layer that overlap the region.
+     *
+     * @param layer the index of the object layer in document order
+     * @return the objects of the layer
+     */
+    public MapObjects getObjects(int layer) {
+        return objectLayers[layer].getObjects();
+    }
+
+    /**
+     * Gets the estimated memory used by the region, which counts towards the streaming budget.
+     *
+     * @return the estimated size in bytes
+     */
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+}
@@ -0,0 +1,285 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import io.mygame.entities.NPC;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Schedules the NPC updates by level of detail, based on the NPC's distance from the camera, which follows
+ * the player:
+ * <ul>
+ *     <li>NPCs on screen, widened by {@link #SCREEN_MARGIN} so they are already moving when they scroll in,
+ *     are updated every frame.</li>
+ *     <li>NPCs within {@link #NEAR_MARGIN} of the screen are updated every {@value #NEAR_INTERVAL}th
+ *     frame.</li>
+ *     <li>Every other NPC is updated about once per second.</li>
+ * </ul>
+ * Every update passes the time accumulated since the NPC's last update, so NPCs cover the same distance at any
+ * rate. The reduced tiers are split into staggered buckets by the NPC's index, one bucket being due at a time,
+ * so each frame updates about the same share of them instead of all of them at once. The far buckets advance
+ * with time rather than frames, so a slow frame catches up on the buckets it missed.
+ * <p>
+ * The on-screen and near NPCs are found through a spatial hash of their positions with cells of
+ * {@value #CELL_SIZE} pixels. Only the NPCs updated in a frame move in it, first by their update and then by the
+ * resolution of their collisions, so the caller passes {@link #getUpdated()} to
+ * {@link CollisionHandler#handleNpcCollision(IntArray)} and then calls {@link #rebucket()}, which moves those NPCs
+ * to the cells they ended up in. The hash is thus kept up to date incrementally, and the cost of a frame depends
+ * on the NPCs around the screen rather than on the whole population. Drawing is culled separately by the
+ * {@link RenderQueue}.
+ */
+public class NpcScheduler {
+    /************ UPDATE TIERS ************/
+    private static final float SCREEN_MARGIN = 32f;
+    private static final float NEAR_MARGIN = 320f;
+    public static final int NEAR_INTERVAL = 4;
+    public static final int FAR_BUCKETS = 60;
+    private static final float FAR_INTERVAL = 1f;
+
+    /************ SPATIAL HASH ************/
+    private static final float CELL_SIZE = 128f;
+    private static final int HASH_SIZE = 1024;
+    private final int[] heads;
+    private final int[] next;
+    private final int[] previous;
+    private final int[] buckets;
+
+    /************ NPCS ************/
+    private final List<NPC> npcs;
+    private final float[] lastUpdates;
+    private final int[] stamps;
+    private final IntArray onScreen;
+    private final IntArray near;
+    private final IntArray updated;
+    private final Rectangle screenBounds;
+    private final Rectangle nearBounds;
+    private int currentStamp;
+
+    /************ SCHEDULE ************/
+    private float clock;
+    private int frame;
+    private int farBucket;
+    private float farBucketTime;
+
+    /**
+     * Constructs a scheduler for a fixed list of NPCs and hashes their current positions.
+     *
+     * @param npcs the NPCs to simulate; an NPC's id is its index in this list
+     */
+    public NpcScheduler(List<NPC> npcs) {
+        this.npcs = npcs;
+        int count = npcs.size();
+
+        heads = new int[HASH_SIZE];
+        next = new int[count];
+        previous = new int[count];
+        buckets = new int[count];
+        lastUpdates = new float[count];
+        stamps = new int[count];
+        onScreen = new IntArray();
+        near = new IntArray();
+        updated = new IntArray();
+        screenBounds = new Rectangle();
+        nearBounds = new Rectangle();
+
+        Arrays.fill(heads, -1);
+        for (int id = 0; id < count; id++) {
+            link(id, getBucket(npcs.get(id)));
+        }
+    }
+
+    /**
+     * Updates the NPCs due this frame: every NPC on screen, the near NPCs of this frame's near bucket and the
+     * far NPCs of every far bucket that has come due. {@link #rebucket()} must be called once their collisions
+     * have been resolved.
+     *
+     * @param camera the camera whose view is simulated at full rate
+     * @param delta  the time in seconds since the last frame
+     */
+    public void update(OrthographicCamera camera, float delta) {
+        clock += delta;
+        frame++;
+        updated.clear();
+        if (++currentStamp == 0) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 1;
+        }
+
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        setBounds(screenBounds, camera, width + SCREEN_MARGIN * 2, height + SCREEN_MARGIN * 2);
+        setBounds(nearBounds, camera, width + NEAR_MARGIN * 2, height + NEAR_MARGIN * 2);
+
+        // Updating moves NPCs between cells, so every tier is collected before any NPC is updated
+        collect(screenBounds, onScreen);
+        collect(nearBounds, near);
+
+        for (int i = 0; i < onScreen.size; i++) {
+            updateNpc(onScreen.get(i));
+        }
+
+        int nearBucket = frame % NEAR_INTERVAL;
+        for (int i = 0; i < near.size; i++) {
+            int id = near.get(i);
+            if (id % NEAR_INTERVAL == nearBucket) updateNpc(id);
+        }
+
+        farBucketTime += delta;
+        float bucketInterval = FAR_INTERVAL / FAR_BUCKETS;
+        // At most one full round, so a long stall does not update the far NPCs several times
+        for (int due = 0; farBucketTime >= bucketInterval && due < FAR_BUCKETS; due++) {
+            farBucketTime -= bucketInterval;
+            for (int id = farBucket; id < npcs.size(); id += FAR_BUCKETS) {
+                if (stamps[id] != currentStamp) updateNpc(id);
+            }
+            farBucket = (farBucket + 1) % FAR_BUCKETS;
+        }
+        farBucketTime = Math.min(farBucketTime, bucketInterval);
+    }
+
+    /**
+     * Centers bounds on the camera.
+     *
+     * @param bounds the bounds to set
+     * @param camera the camera
+     * @param width  the width of the bounds
+     * @param height the height of the bounds
+     */
+    private static void setBounds(Rectangle bounds, OrthographicCamera camera, float width, float height) {
+        bounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
+    }
+
+    /**
+     * Collects the NPCs inside bounds from the cells the bounds cover, skipping and stamping NPCs that were
+     * already collected this frame, so every NPC belongs to the closest tier it is in.
+     *
+     * @param bounds the bounds to search
+     * @param result receives the indices of the NPCs found
+     */
+    private void collect(Rectangle bounds, IntArray result) {
+        result.clear();
+
+        int firstColumn = MathUtils.floor(bounds.x / CELL_SIZE);
+        int firstRow = MathUtils.floor(bounds.y / CELL_SIZE);
+        int lastColumn = MathUtils.floor((bounds.x + bounds.width) / CELL_SIZE);
+        int lastRow = MathUtils.floor((bounds.y + bounds.height) / CELL_SIZE);
+
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                // Different cells may share a bucket, so every NPC found is checked against the bounds
+                for (int id = heads[hash(column, row)]; id >= 0; id = next[id]) {
+                    if (stamps[id] == currentStamp) continue;
+
+                    NPC npc = npcs.get(id);
+                    if (bounds.contains(npc.getX(), npc.getY())) {
+                        stamps[id] = currentStamp;
+                        result.add(id);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates an NPC by the time since its last update.
+     *
+     * @param id the index of the NPC
+     */
+    private void updateNpc(int id) {
+        npcs.get(id).update(clock - lastUpdates[id]);
+        lastUpdates[id] = clock;
+        updated.add(id);
+    }
+
+    /**
+     * Moves the NPCs updated in the last {@link #update} to the buckets of the cells they stand in. Called after
+     * their collisions are resolved, since resolving moves them again.
+     */
+    public void rebucket() {
+        for (int i = 0; i < updated.size; i++) {
+            int id = updated.get(i);
+            int bucket = getBucket(npcs.get(id));
+            if (bucket != buckets[id]) {
+                unlink(id);
+                link(id, bucket);
+            }
+        }
+    }
+
+    /**
+     * Gets the indices of the NPCs updated in the last {@link #update}, the only NPCs that moved this frame.
+     *
+     * @return the indices of the updated NPCs
+     */
+    public IntArray getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Gets the bucket of the cell an NPC stands in.
+     *
+     * @param npc the NPC
+     * @return the bucket index
+     */
+    private static int getBucket(NPC npc) {
+        return hash(MathUtils.floor(npc.getX() / CELL_SIZE), MathUtils.floor(npc.getY() / CELL_SIZE));
+    }
+
+    /**
+     * Hashes a cell of the spatial hash.
+     *
+     * @param column the column of the cell
+     * @param row    the row of the cell
+     * @return the bucket index
+     */
+    private static int hash(int column, int row) {
+        return (column * 73856093 ^ row * 19349663) & (HASH_SIZE - 1);
+    }
+
+    /**
+     * Adds an NPC to the front of a bucket.
+     *
+     * @param id     the index of the NPC
+     * @param bucket the bucket index
+     */
+    private void link(int id, int bucket) {
+        buckets[id] = bucket;
+        previous[id] = -1;
+        next[id] = heads[bucket];
+        if (heads[bucket] >= 0) previous[heads[bucket]] = id;
+        heads[bucket] = id;
+    }
+
+    /**
+     * Removes an NPC from its bucket.
+     *
+     * @param id the index of the NPC
+     */
+    private void unlink(int id) {
+        if (previous[id] >= 0) next[previous[id]] = next[id];
+        else heads[buckets[id]] = next[id];
+        if (next[id] >= 0) previous[next[id]] = previous[id];
+    }
+
+    /**
+     * Gets the number of NPCs on screen in the last update, which were updated at full rate.
+     *
+     * @return the number of NPCs on screen
+     */
+    public int getOnScreenCount() {
+        return onScreen.size;
+    }
+
+    /**
+     * Gets the number of NPCs near the screen in the last update, which are updated at a reduced rate.
+     *
+     * @return the number of NPCs near the screen
+     */
+    public int getNearCount() {
+        return near.size;
+    }
+}
@@ -0,0 +1,271 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.TextureAtlasData;
+import com.badlogic.gdx.graphics.glutils.FileTextureData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.util.StringTokenizer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The PixmapDecoder class decodes PNG images into {@link Pixmap}s on a pool of worker threads, one per core.
+ * Decoding is the expensive part of loading a texture, and both direct loads and {@link AssetManager} loads
+ * decode one image at a time. Images are submitted as soon as it is known they will be needed, e.g. the pages
+ * of a skin's atlas or the tilesets of a map, and the texture is later created from the decoded pixmap so the
+ * GL thread only uploads it.
+ * <p>
+ * {@link TextureLoader} plugs the decoder into an AssetManager, so textures loaded as dependencies of skins,
+ * atlases and TMX maps pick up pixmaps that were decoded ahead. A pixmap that was never submitted is decoded
+ * on the calling thread, as before.
+ * The PixmapDecoder follows a singleton pattern.
+ */
+public class PixmapDecoder implements Disposable {
+    /************ SINGLETON INSTANCE ************/
+    private static PixmapDecoder instance;
+
+    /************ WORKER POOL ************/
+    private final ExecutorService workers;
+
+    /************ DECODED IMAGES ************/
+    private final ObjectMap<String, Future<Pixmap>> pending;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private PixmapDecoder() {
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "pixmap-decoder-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        pending = new ObjectMap<>();
+    }
+
+    /**
+     * Gets the singleton instance of the PixmapDecoder.
+     * @return The PixmapDecoder instance.
+     */
+    public static PixmapDecoder getInstance() {
+        if (instance == null) instance = new PixmapDecoder();
+        return instance;
+    }
+
+    /**
+     * Gets the key under which an image is tracked, matching the file names of {@link AssetDescriptor}s.
+     *
+     * @param file the image file
+     * @return the normalized path of the file
+     */
+    private static String getKey(FileHandle file) {
+        return file.path().replace('\\', '/');
+    }
+
+    /**
+     * Starts decoding an image on the worker pool. Does nothing if the image is already being decoded.
+     *
+     * @param file the image file
+     */
+    public synchronized void decode(FileHandle file) {
+        String key = getKey(file);
+        if (pending.containsKey(key)) return;
+        pending.put(key, workers.submit(() -> new Pixmap(file)));
+    }
+
+    /**
+     * Starts decoding every page of a texture atlas.
+     *
+     * @param atlasFile the atlas file, whose pages are relative to its directory
+     */
+    public void decodeAtlasPages(FileHandle atlasFile) {
+        if (!atlasFile.exists()) return;
+        TextureAtlasData data = new TextureAtlasData(atlasFile, atlasFile.parent(), false);
+        for (TextureAtlasData.Page page : data.getPages()) {
+            decode(page.textureFile);
+        }
+    }
+
+    /**
+     * Starts decoding the tileset images of a TMX map. The map and its external tilesets are scanned on the
+     * worker pool, so the caller does not parse the map twice.
+     *
+     * @param tmxFile the TMX map file
+     */
+    public void decodeMapTilesets(FileHandle tmxFile) {
+        workers.submit(() -> {
+            XmlReader reader = new XmlReader();
+            for (XmlReader.Element tileset : reader.parse(tmxFile).getChildrenByName("tileset")) {
+                FileHandle tilesetFile = tmxFile;
+                String source = tileset.getAttribute("source", null);
+                if (source != null) {
+                    tilesetFile = resolve(tmxFile, source);
+                    tileset = reader.parse(tilesetFile);
+                }
+
+                XmlReader.Element image = tileset.getChildByName("image");
+                if (image != null) decode(resolve(tilesetFile, image.getAttribute("source")));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Resolves a path relative to a file the same way the libGDX TMX loader does, so the decoded image is
+     * found under the name the loader asks for.
+     *
+     * @param file the file the path is relative to
+     * @param path the relative path
+     * @return the resolved file
+     */
+    private static FileHandle resolve(FileHandle file, String path) {
+        StringTokenizer tokenizer = new StringTokenizer(path, "\\/");
+        FileHandle result = file.parent();
+        while (tokenizer.hasMoreElements()) {
+            String token = tokenizer.nextToken();
+            if (token.equals("..")) result = result.parent();
+            else if (!token.equals(".")) result = result.child(token);
+        }
+        return result;
+    }
+
+    /**
+     * Takes the decoded pixmap of an image, waiting for its decode to finish. The caller owns the pixmap.
+     * An image that was not submitted is decoded on the calling thread.
+     *
+     * @param file the image file
+     * @return the decoded pixmap
+     * @throws GdxRuntimeException if the image cannot be decoded
+     */
+    public Pixmap take(FileHandle file) {
+        Future<Pixmap> future;
+        synchronized (this) {
+            future = pending.remove(getKey(file));
+        }
+        if (future == null) return new Pixmap(file);
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException("Interrupted while decoding " + file, e);
+        } catch (ExecutionException e) {
+            throw new GdxRuntimeException("Couldn't decode " + file, e.getCause());
+        }
+    }
+
+    /**
+     * Creates a texture from an image, using its decoded pixmap if it was submitted. Must be called on the GL
+     * thread. The texture stays managed, so it is reloaded from the file if the GL context is lost.
+     *
+     * @param file the image file
+     * @return the uploaded texture
+     */
+    public Texture loadTexture(FileHandle file) {
+        return new Texture(new FileTextureData(file, take(file), null, false));
+    }
+
+    /**
+     * Disposes every decoded pixmap that was never taken, e.g. for an image whose texture was already loaded.
+     */
+    public void discardPending() {
+        Array<Future<Pixmap>> futures;
+        synchronized (this) {
+            futures = pending.values().toArray();
+            pending.clear();
+        }
+
+        for (Future<Pixmap> future : futures) {
+            try {
+                future.get().dispose();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                Gdx.app.error("PixmapDecoder", "Discarded an image that failed to decode", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Discards the pending pixmaps and stops the worker pool.
+     */
+    @Override
+    public void dispose() {
+        discardPending();
+        workers.shutdownNow();
+        instance = null;
+    }
+
+    /**
+     * An AssetManager loader for textures that takes the pixmap from the decoder instead of decoding it on the
+     * AssetManager's single loading thread. The texture is created from it on the GL thread like the default
+     * texture loader does.
+     */
+    public static class TextureLoader extends AsynchronousAssetLoader<Texture, TextureParameter> {
+        /************ LOADED DATA ************/
+        private TextureData data;
+
+        /**
+         * Constructs a TextureLoader.
+         *
+         * @param resolver the resolver for file names
+         */
+        public TextureLoader(FileHandleResolver resolver) {
+            super(resolver);
+        }
+
+        /**
+         * Takes the decoded pixmap on the loading thread.
+         */
+        @Override
+        public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+            Pixmap.Format format = parameter != null ? parameter.format : null;
+            boolean genMipMaps = parameter != null && parameter.genMipMaps;
+            data = new FileTextureData(file, getInstance().take(file), format, genMipMaps);
+        }
+
+        /**
+         * Uploads the texture on the GL thread and applies the filters and wrapping of the parameter.
+         */
+        @Override
+        public Texture loadSync(AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+            Texture texture = parameter != null && parameter.texture != null ? parameter.texture : null;
+            if (texture != null) texture.load(data);
+            else texture = new Texture(data);
+            data = null;
+
+            if (parameter != null) {
+                texture.setFilter(parameter.minFilter, parameter.magFilter);
+                texture.setWrap(parameter.wrapU, parameter.wrapV);
+            }
+            return texture;
+        }
+
+        /**
+         * Textures have no dependencies.
+         */
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, TextureParameter parameter) {
+            return null;
+        }
+    }
+}
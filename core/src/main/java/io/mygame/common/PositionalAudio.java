@@ -0,0 +1,355 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import io.mygame.entities.Entity;
+import io.mygame.enums.SoundCategory;
+
+import java.util.Arrays;
+
+/**
+ * Plays the sounds of entities in the world relative to a listener, usually the player.
+ * Every emitter repeats a sound effect from the {@link SoundBank} at its own interval. The emitters are kept in
+ * a spatial hash with cells as large as the hearing radius, and an emitter only moves to another bucket when it
+ * crosses into another cell. Only the emitters in the cells around the listener are looked at, so everything
+ * further away is culled without computing a distance.
+ * An audible emitter is panned by its horizontal offset from the listener and attenuated with the square of its
+ * distance.
+ * <p>
+ * At most {@link SoundCategory#ENVIRONMENT}'s voice limit of emitters are heard at once. When every voice is
+ * busy, a louder emitter takes the voice of the quietest one, and a quieter one stays silent, so any number of
+ * emitters costs no more than that many voices. Every voice pins its sound in the {@link AudioCache} while it
+ * holds it.
+ */
+public class PositionalAudio implements Disposable {
+    /************ HEARING ************/
+    public static final float DEFAULT_RADIUS = 200f;
+    private static final float VOICE_HOLD_TIME = 0.6f;
+
+    /************ SPATIAL HASH ************/
+    private static final int HASH_SIZE = 256;
+    private final int[] heads;
+    private int[] next;
+    private int[] previous;
+    private int[] buckets;
+    private int[] stamps;
+    private int currentStamp;
+
+    /************ EMITTERS ************/
+    private final Array<Emitter> emitters;
+    private final SoundManager soundManager;
+    private final SoundBank soundBank;
+    private final AudioCache audioCache;
+    private final float radius;
+
+    /************ VOICES ************/
+    private final Emitter[] voiceEmitters;
+    private final Sound[] voiceSounds;
+    private final long[] voiceIds;
+    private final float[] voiceTimes;
+
+    /**
+     * Constructs the positional audio layer with the default hearing radius.
+     *
+     * @param soundManager the sound manager providing the volume of the environment category
+     */
+    public PositionalAudio(SoundManager soundManager) {
+        this(soundManager, DEFAULT_RADIUS);
+    }
+
+    /**
+     * Constructs the positional audio layer.
+     *
+     * @param soundManager the sound manager providing the volume of the environment category
+     * @param radius       the distance in world units beyond which emitters are not heard
+     */
+    public PositionalAudio(SoundManager soundManager, float radius) {
+        this.soundManager = soundManager;
+        this.soundBank = SoundBank.getInstance();
+        this.audioCache = AudioCache.getInstance();
+        this.radius = radius;
+
+        emitters = new Array<>();
+        heads = new int[HASH_SIZE];
+        next = new int[0];
+        previous = new int[0];
+        buckets = new int[0];
+        stamps = new int[0];
+        Arrays.fill(heads, -1);
+
+        int voices = SoundCategory.ENVIRONMENT.getMaxVoices();
+        voiceEmitters = new Emitter[voices];
+        voiceSounds = new Sound[voices];
+        voiceIds = new long[voices];
+        voiceTimes = new float[voices];
+    }
+
+    /**
+     * Adds an entity that repeats a sound effect.
+     *
+     * @param entity      the entity whose position the sound comes from
+     * @param sound       the name of the sound effect in the sound bank
+     * @param interval    the time in seconds between two plays of the sound
+     * @param whileMoving true to only play the sound while the entity moves, e.g. for footsteps
+     */
+    public void addEmitter(Entity entity, String sound, float interval, boolean whileMoving) {
+        Emitter emitter = new Emitter(entity, sound, interval, whileMoving);
+        // Emitters start out of phase, so a crowd does not play in unison
+        emitter.timer = MathUtils.random(interval);
+        emitters.add(emitter);
+
+        next = Arrays.copyOf(next, emitters.size);
+        previous = Arrays.copyOf(previous, emitters.size);
+        buckets = Arrays.copyOf(buckets, emitters.size);
+        stamps = Arrays.copyOf(stamps, emitters.size);
+        link(emitters.size - 1, getBucket(entity));
+    }
+
+    /**
+     * Advances the emitters and updates the audible voices. Called once per frame.
+     *
+     * @param listenerX the x position of the listener in world units
+     * @param listenerY the y position of the listener in world units
+     * @param delta     the time in seconds since the last frame
+     */
+    public void update(float listenerX, float listenerY, float delta) {
+        float volume = soundManager.getVolume(SoundCategory.ENVIRONMENT);
+        bucketEmitters();
+
+        for (int i = 0; i < voiceEmitters.length; i++) {
+            if (voiceEmitters[i] == null) continue;
+            voiceTimes[i] -= delta;
+            if (voiceTimes[i] <= 0f) {
+                audioCache.unpin(voiceSounds[i]);
+                voiceEmitters[i] = null;
+                voiceSounds[i] = null;
+            }
+        }
+
+        if (++currentStamp == 0) {
+            Arrays.fill(stamps, 0);
+            currentStamp = 1;
+        }
+
+        int listenerColumn = MathUtils.floor(listenerX / radius);
+        int listenerRow = MathUtils.floor(listenerY / radius);
+        for (int row = listenerRow - 1; row <= listenerRow + 1; row++) {
+            for (int column = listenerColumn - 1; column <= listenerColumn + 1; column++) {
+                for (int i = heads[hash(column, row)]; i >= 0; i = next[i]) {
+                    if (stamps[i] == currentStamp) continue;
+                    stamps[i] = currentStamp;
+                    updateEmitter(emitters.get(i), listenerX, listenerY, volume, delta);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the emitters that crossed into another cell since the last update to the bucket of their new cell.
+     * Every bucket is a doubly linked list through {@link #next} and {@link #previous}, so moving an emitter
+     * allocates nothing, and emitters that stay within their cell are left where they are.
+     */
+    private void bucketEmitters() {
+        for (int i = 0; i < emitters.size; i++) {
+            int bucket = getBucket(emitters.get(i).entity);
+            if (bucket != buckets[i]) {
+                unlink(i);
+                link(i, bucket);
+            }
+        }
+    }
+
+    /**
+     * Gets the bucket of the cell an entity stands in.
+     *
+     * @param entity the entity
+     * @return the bucket index
+     */
+    private int getBucket(Entity entity) {
+        return hash(MathUtils.floor(entity.getX() / radius), MathUtils.floor(entity.getY() / radius));
+    }
+
+    /**
+     * Hashes a cell of the spatial hash. Different cells may share a bucket, which only costs an extra distance
+     * check.
+     *
+     * @param column the column of the cell
+     * @param row    the row of the cell
+     * @return the bucket index
+     */
+    private static int hash(int column, int row) {
+        return (column * 73856093 ^ row * 19349663) & (HASH_SIZE - 1);
+    }
+
+    /**
+     * Adds an emitter to the front of a bucket.
+     *
+     * @param index  the index of the emitter
+     * @param bucket the bucket index
+     */
+    private void link(int index, int bucket) {
+        buckets[index] = bucket;
+        previous[index] = -1;
+        next[index] = heads[bucket];
+        if (heads[bucket] >= 0) previous[heads[bucket]] = index;
+        heads[bucket] = index;
+    }
+
+    /**
+     * Removes an emitter from its bucket.
+     *
+     * @param index the index of the emitter
+     */
+    private void unlink(int index) {
+        if (previous[index] >= 0) next[previous[index]] = next[index];
+        else heads[buckets[index]] = next[index];
+        if (next[index] >= 0) previous[next[index]] = previous[index];
+    }
+
+    /**
+     * Advances one emitter near the listener. Its playing voice follows it, and when its interval has elapsed
+     * it asks for a voice if it is within the hearing radius.
+     *
+     * @param emitter   the emitter
+     * @param listenerX the x position of the listener
+     * @param listenerY the y position of the listener
+     * @param volume    the volume of the environment category
+     * @param delta     the time in seconds since the last frame
+     */
+    private void updateEmitter(Emitter emitter, float listenerX, float listenerY, float volume, float delta) {
+        Entity entity = emitter.entity;
+        boolean moved = entity.getX() != emitter.lastX || entity.getY() != emitter.lastY;
+        emitter.lastX = entity.getX();
+        emitter.lastY = entity.getY();
+
+        float dx = entity.getX() + entity.getWidth() / 2 - listenerX;
+        float dy = entity.getY() + entity.getHeight() / 2 - listenerY;
+        float distance = (float) Math.sqrt(dx * dx + dy * dy);
+        float falloff = Math.max(0f, 1f - distance / radius);
+        emitter.volume = volume * falloff * falloff;
+        float pan = MathUtils.clamp(dx / radius, -1f, 1f);
+
+        int voice = findVoice(emitter);
+        if (voice >= 0) voiceSounds[voice].setPan(voiceIds[voice], pan, emitter.volume);
+
+        emitter.timer -= delta;
+        if (emitter.timer > 0f) return;
+        emitter.timer += emitter.interval;
+        if (emitter.timer < 0f) emitter.timer = emitter.interval;
+
+        if (emitter.volume <= 0f || (emitter.whileMoving && !moved)) return;
+        play(emitter, pan);
+    }
+
+    /**
+     * Plays a sound of an emitter on a free voice, or on the voice of a quieter emitter if every voice is busy.
+     *
+     * @param emitter the emitter
+     * @param pan     the pan of the emitter between -1 (left) and 1 (right)
+     */
+    private void play(Emitter emitter, float pan) {
+        int voice = -1;
+        for (int i = 0; i < voiceEmitters.length; i++) {
+            if (voiceEmitters[i] == emitter || voiceEmitters[i] == null) {
+                voice = i;
+                break;
+            }
+            if (voice < 0 || voiceEmitters[i].volume < voiceEmitters[voice].volume) voice = i;
+        }
+        if (voiceEmitters[voice] != null && voiceEmitters[voice] != emitter &&
+            voiceEmitters[voice].volume >= emitter.volume) {
+            return;
+        }
+
+        Sound sound = soundBank.getRandom(emitter.sound);
+        if (sound == null) return;
+        if (voiceSounds[voice] != null) {
+            voiceSounds[voice].stop(voiceIds[voice]);
+            audioCache.unpin(voiceSounds[voice]);
+        }
+        audioCache.pin(sound);
+
+        voiceEmitters[voice] = emitter;
+        voiceSounds[voice] = sound;
+        voiceIds[voice] = sound.play(emitter.volume, 1f, pan);
+        voiceTimes[voice] = VOICE_HOLD_TIME;
+    }
+
+    /**
+     * Finds the voice an emitter is playing on.
+     *
+     * @param emitter the emitter
+     * @return the index of the voice, or -1 if the emitter is silent
+     */
+    private int findVoice(Emitter emitter) {
+        for (int i = 0; i < voiceEmitters.length; i++) {
+            if (voiceEmitters[i] == emitter) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of emitters that are currently heard.
+     *
+     * @return the number of busy voices
+     */
+    public int getAudibleCount() {
+        int count = 0;
+        for (Emitter emitter : voiceEmitters) {
+            if (emitter != null) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Stops every playing voice and unpins its sound. The sounds themselves belong to the {@link AudioCache}.
+     */
+    @Override
+    public void dispose() {
+        for (int i = 0; i < voiceEmitters.length; i++) {
+            if (voiceSounds[i] != null) {
+                voiceSounds[i].stop(voiceIds[i]);
+                audioCache.unpin(voiceSounds[i]);
+            }
+            voiceEmitters[i] = null;
+            voiceSounds[i] = null;
+        }
+        emitters.clear();
+        Arrays.fill(heads, -1);
+    }
+
+    /**
+     * An entity that repeats a sound effect, with its playback state.
+     */
+    private static class Emitter {
+        /************ SOURCE ************/
+        private final Entity entity;
+        private final String sound;
+        private final float interval;
+        private final boolean whileMoving;
+
+        /************ PLAYBACK STATE ************/
+        private float timer;
+        private float volume;
+        private float lastX, lastY;
+
+        /**
+         * Constructs an emitter.
+         *
+         * @param entity      the entity whose position the sound comes from
+         * @param sound       the name of the sound effect in the sound bank
+         * @param interval    the time in seconds between two plays of the sound
+         * @param whileMoving true to only play the sound while the entity moves
+         */
+        Emitter(Entity entity, String sound, float interval, boolean whileMoving) {
+            this.entity = entity;
+            this.sound = sound;
+            this.interval = interval;
+            this.whileMoving = whileMoving;
+            this.lastX = entity.getX();
+            this.lastY = entity.getY();
+        }
+    }
+}
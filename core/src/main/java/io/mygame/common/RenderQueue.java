@@ -0,0 +1,122 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import io.mygame.entities.Entity;
+
+/**
+ * Keeps the entities of the world in drawing order, from the back of the scene to the front, so entities
+ * lower on the screen are drawn over those behind them. The order is kept across frames and repaired with an
+ * insertion sort, which is close to linear since entities barely move between frames, so a frame neither
+ * allocates a new list nor sorts from scratch.
+ * <p>
+ * Entities outside the camera's view are skipped when drawing, but stay in the order.
+ */
+public class RenderQueue {
+    /************ DRAWING ORDER ************/
+    private final Array<Entity> entities;
+
+    /************ VIEW ************/
+    private final Rectangle viewBounds;
+    private int visibleCount;
+
+    /**
+     * Constructs an empty RenderQueue.
+     */
+    public RenderQueue() {
+        entities = new Array<>(true, 16, Entity.class);
+        viewBounds = new Rectangle();
+    }
+
+    /**
+     * Adds an entity to the queue. It is moved to its place on the next {@link #render}.
+     *
+     * @param entity the entity to draw
+     */
+    public void add(Entity entity) {
+        entities.add(entity);
+    }
+
+    /**
+     * Removes an entity from the queue.
+     *
+     * @param entity the entity to stop drawing
+     */
+    public void remove(Entity entity) {
+        entities.removeValue(entity, true);
+    }
+
+    /**
+     * Repairs the drawing order and draws every entity in the camera's view. The batch must have begun.
+     *
+     * @param batch  the batch to draw with
+     * @param camera the camera whose view is drawn
+     */
+    public void render(SpriteBatch batch, OrthographicCamera camera) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        viewBounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
+
+        sort();
+
+        visibleCount = 0;
+        Entity[] items = entities.items;
+        for (int i = 0; i < entities.size; i++) {
+            Entity entity = items[i];
+            if (isVisible(entity)) {
+                entity.render(batch);
+                visibleCount++;
+            }
+        }
+    }
+
+    /**
+     * Repairs the order left over from the previous frame with an insertion sort, with higher entities first.
+     * Called by {@link #render}.
+     */
+    public void sort() {
+        Entity[] items = entities.items;
+        for (int i = 1; i < entities.size; i++) {
+            Entity entity = items[i];
+            float key = entity.getY();
+            int j = i - 1;
+
+            while (j >= 0 && items[j].getY() < key) {
+                items[j + 1] = items[j];
+                j--;
+            }
+            items[j + 1] = entity;
+        }
+    }
+
+    /**
+     * Checks whether an entity's sprite overlaps the camera's view.
+     *
+     * @param entity the entity
+     * @return true if any part of the entity can be seen
+     */
+    private boolean isVisible(Entity entity) {
+        return entity.getX() < viewBounds.x + viewBounds.width && entity.getX() + entity.getWidth() > viewBounds.x &&
+            entity.getY() < viewBounds.y + viewBounds.height && entity.getY() + entity.getHeight() > viewBounds.y;
+    }
+
+    /**
+     * Gets the number of entities drawn by the last {@link #render}.
+     *
+     * @return the number of visible entities
+     */
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+
+    /**
+     * Gets the number of entities in the queue.
+     *
+     * @return the number of entities
+     */
+    public int size() {
+        return entities.size;
+    }
+}
@@ -0,0 +1,72 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The SoundBank class knows every variant of the short sound effects and decodes them all into the
+ * {@link AudioCache} when it is created. Playing a footstep or a click then picks one of the variants from the
+ * cache, which is a lookup without reading the file, unless the cache evicted the variant to stay within its
+ * memory budget, in which case it is decoded again.
+ * The SoundBank follows a singleton pattern.
+ */
+public class SoundBank {
+    /************ SINGLETON INSTANCE ************/
+    private static SoundBank instance;
+
+    /************ SOUND VARIANTS ************/
+    private final AudioCache audioCache;
+    private final ObjectMap<String, Array<String>> variants;
+
+    /**
+     * Private constructor to enforce the singleton pattern. Decodes every sound effect variant.
+     */
+    private SoundBank() {
+        audioCache = AudioCache.getInstance();
+        variants = new ObjectMap<>();
+
+        load("walk", "sound/footsteps/walk_", ".ogg", 7);
+        load("click", "sound/ui/select/select_", ".ogg", 3);
+        load("popup", "sound/ui/popup/popup_", ".wav", 2);
+    }
+
+    /**
+     * Gets the singleton instance of the SoundBank, decoding the sounds on first use.
+     * @return The SoundBank instance.
+     */
+    public static SoundBank getInstance() {
+        if (instance == null) instance = new SoundBank();
+        return instance;
+    }
+
+    /**
+     * Decodes the numbered variants of a sound effect. Variants that cannot be loaded are left out.
+     *
+     * @param name      the name the variants are played by
+     * @param prefix    the internal path of the variants up to their number
+     * @param extension the extension of the variant files
+     * @param count     the number of variants, numbered from 1
+     */
+    private void load(String name, String prefix, String extension, int count) {
+        Array<String> paths = new Array<>(count);
+        for (int i = 1; i <= count; i++) {
+            String path = prefix + i + extension;
+            if (audioCache.getSound(path) != null) paths.add(path);
+        }
+        variants.put(name, paths);
+    }
+
+    /**
+     * Picks a random variant of a sound effect.
+     *
+     * @param name the name of the sound effect
+     * @return a decoded variant, which must be pinned in the {@link AudioCache} while it is played, or null if
+     *         the sound effect has no variants
+     */
+    public Sound getRandom(String name) {
+        Array<String> paths = variants.get(name);
+        if (paths == null || paths.isEmpty()) return null;
+        return audioCache.getSound(paths.random());
+    }
+}
@@ -1,16 +1,23 @@
 package io.mygame.common;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.Array;
-
-import static com.badlogic.gdx.math.MathUtils.random;
+import io.mygame.enums.SoundCategory;
 
 /**
  * Manages the background music, sound effects, and global volume settings for the game.
  * Provides methods to play and stop sounds, adjust volume levels, and manage sound resources.
+ * <p>
+ * Sound effects are played from the decoded variants of the {@link SoundBank}, through one voice pool per
+ * {@link SoundCategory}. A pool holds as many voices as its category allows, and a new sound takes over the
+ * oldest voice once they are all in use, so playing a sound effect does not allocate, and it only reads a file
+ * if the {@link AudioCache} evicted the variant to stay within its budget. A voice pins its sound in the cache
+ * for as long as it holds it.
+ * <p>
+ * The background music and the ambience are streamed tracks owned by the {@link AudioCache}. A SoundManager
+ * built with the track that is already playing leaves it playing, so the music carries on across screens.
  */
 public class SoundManager implements Disposable {
     /************ BACKGROUND MUSIC ************/
@@ -19,15 +26,15 @@ public class SoundManager implements Disposable {
     /************ VOLUME SETTINGS ************/
     private float globalVolume;
     private final float musicVolume;
-    private final float ambienceVolume;
-    private final float walkVolume;
+    private final float[] categoryVolumes;
 
-    /************ AMBIENCE SOUND ************/
-    private Sound ambience;
-    private long ambienceLoopId;
+    /************ AMBIENCE TRACK ************/
+    private static final String AMBIENCE_PATH = "sound/ambience/mild_traffic.mp3";
+    private Music ambience;
 
     /************ ACTIVE SOUND EFFECTS ************/
-    private final Array<Sound> activeSounds;
+    private final SoundBank soundBank;
+    private final VoicePool[] voicePools;
     private final Array<Music> activeMusic;
 
     /**
@@ -38,21 +45,27 @@ public class SoundManager implements Disposable {
     public SoundManager(Builder builder) {
         this.globalVolume = 1.0f;
         this.musicVolume = 0.2f;
-        this.ambienceVolume = 0.2f;
-        this.walkVolume = 1.0f;
-        this.activeSounds = new Array<>();
+        this.soundBank = SoundBank.getInstance();
         this.activeMusic = new Array<>();
 
-        if (bgMusic != null && bgMusic.isPlaying()) {
+        SoundCategory[] categories = SoundCategory.values();
+        this.categoryVolumes = new float[categories.length];
+        this.voicePools = new VoicePool[categories.length];
+        for (SoundCategory category : categories) {
+            categoryVolumes[category.ordinal()] = category.getDefaultVolume();
+            voicePools[category.ordinal()] = new VoicePool(category.getMaxVoices());
+        }
+
+        // The cache returns the same instance for the same track, which then keeps playing
+        if (bgMusic != null && bgMusic != builder.bgMusic) {
             bgMusic.stop();
-            bgMusic.dispose();
         }
 
         bgMusic = builder.bgMusic;
         if (bgMusic != null) {
             bgMusic.setLooping(true);
             bgMusic.setVolume(this.globalVolume * this.musicVolume);
-            bgMusic.play();
+            if (!bgMusic.isPlaying()) bgMusic.play();
             activeMusic.add(bgMusic);
         }
     }
@@ -70,14 +83,56 @@ public class SoundManager implements Disposable {
             music.setVolume(volume * musicVolume);
         }
 
+        for (SoundCategory category : SoundCategory.values()) {
+            voicePools[category.ordinal()].setVolume(getVolume(category));
+        }
+
         if (ambience != null) {
-            ambience.setVolume(ambienceLoopId, volume * ambienceVolume);
+            ambience.setVolume(getVolume(SoundCategory.AMBIENCE));
+        }
+    }
+
+    /**
+     * Sets the volume of one category of sound effects, relative to the global volume.
+     * The volume is applied to the sounds of the category that are already playing.
+     *
+     * @param category the category of sound effects
+     * @param volume   the category volume level to be set
+     */
+    public void setCategoryVolume(SoundCategory category, float volume) {
+        categoryVolumes[category.ordinal()] = volume;
+        voicePools[category.ordinal()].setVolume(getVolume(category));
+
+        if (category == SoundCategory.AMBIENCE && ambience != null) {
+            ambience.setVolume(getVolume(category));
         }
     }
 
+    /**
+     * Gets the volume sounds of a category are played with.
+     *
+     * @param category the category of sound effects
+     * @return the global volume scaled by the category volume
+     */
+    public float getVolume(SoundCategory category) {
+        return globalVolume * categoryVolumes[category.ordinal()];
+    }
+
+    /**
+     * Plays a random variant of a sound effect from the sound bank on a voice of its category.
+     *
+     * @param name     the name of the sound effect in the sound bank
+     * @param category the category the sound effect belongs to
+     */
+    private void play(String name, SoundCategory category) {
+        Sound sound = soundBank.getRandom(name);
+        if (sound == null) return;
+        voicePools[category.ordinal()].play(sound, getVolume(category));
+    }
+
     /**
      * Adds a sound effect to be played based on the specified sound name.
-     * Supports sound effects like "walk", "click", and "ambience".
+     * Supports sound effects like "walk", "click", "popup", and "ambience".
      *
      * @param name the name of the sound effect to be played
      */
@@ -85,19 +140,20 @@ public class SoundManager implements Disposable {
         try {
             switch (name) {
                 case "walk":
-                    Sound walkSound = Gdx.audio.newSound(Gdx.files.internal("sound/footsteps/walk_" + (random.nextInt(5) + 1) + ".ogg"));
-                    walkSound.play(globalVolume * walkVolume);
-                    activeSounds.add(walkSound);
+                    play("walk", SoundCategory.FOOTSTEPS);
                     break;
                 case "click":
-                    Sound clickSound = Gdx.audio.newSound(Gdx.files.internal("sound/ui/select/select_" + (random.nextInt(3) + 1) + ".ogg"));
-                    clickSound.play(globalVolume);
-                    activeSounds.add(clickSound);
+                    play("click", SoundCategory.UI);
+                    break;
+                case "popup":
+                    play("popup", SoundCategory.UI);
                     break;
                 case "ambience":
-                    ambience = Gdx.audio.newSound(Gdx.files.internal("sound/ambience/mild_traffic.mp3"));
-                    ambienceLoopId = ambience.loop(globalVolume * ambienceVolume);
-                    activeSounds.add(ambience);
+                    // The ambience is a long loop, so it is streamed instead of decoded into memory
+                    ambience = AudioCache.getInstance().getMusic(AMBIENCE_PATH);
+                    ambience.setLooping(true);
+                    ambience.setVolume(getVolume(SoundCategory.AMBIENCE));
+                    if (!ambience.isPlaying()) ambience.play();
                     break;
             }
         } catch (NullPointerException e) {
@@ -106,27 +162,101 @@ public class SoundManager implements Disposable {
     }
 
     /**
-     * Disposes of all active sounds and music, releasing associated resources.
-     * This method stops all currently playing sounds and music, and clears the active sound lists.
+     * Stops all currently playing sounds and music, and clears the active sound lists.
+     * The sounds and tracks themselves are owned by the {@link AudioCache}, which keeps them for the next
+     * SoundManager.
      */
     @Override
     public void dispose() {
+        for (VoicePool pool : voicePools) {
+            pool.stopAll();
+        }
+
         if (ambience != null) {
-            ambience.stop(ambienceLoopId);
-            ambience.dispose();
+            ambience.stop();
+            ambience = null;
         }
 
         for (Music music : activeMusic) {
             music.stop();
-            music.dispose();
         }
 
-        for (Sound sound : activeSounds) {
-            sound.dispose();
+        activeMusic.clear();
+    }
+
+    /**
+     * A fixed number of voices that play the sounds of one category. Voices are reused round robin, so the
+     * oldest sound is stopped when a new one needs its voice. Every voice pins the sound it holds in the
+     * {@link AudioCache}.
+     */
+    private static class VoicePool {
+        /************ VOICES ************/
+        private final AudioCache audioCache;
+        private final Sound[] sounds;
+        private final long[] ids;
+        private int next;
+
+        /**
+         * Constructs a pool with the given number of voices.
+         *
+         * @param maxVoices the number of sounds that can play at the same time
+         */
+        VoicePool(int maxVoices) {
+            audioCache = AudioCache.getInstance();
+            sounds = new Sound[maxVoices];
+            ids = new long[maxVoices];
+        }
+
+        /**
+         * Plays a sound once on the next voice.
+         *
+         * @param sound  the sound to play
+         * @param volume the volume to play it with
+         */
+        void play(Sound sound, float volume) {
+            int voice = takeVoice();
+            audioCache.pin(sound);
+            sounds[voice] = sound;
+            ids[voice] = sound.play(volume);
         }
 
-        activeMusic.clear();
-        activeSounds.clear();
+        /**
+         * Takes the next voice, stopping and unpinning the sound it still holds.
+         *
+         * @return the index of the voice
+         */
+        private int takeVoice() {
+            int voice = next;
+            next = (next + 1) % sounds.length;
+            if (sounds[voice] != null) {
+                sounds[voice].stop(ids[voice]);
+                audioCache.unpin(sounds[voice]);
+            }
+            return voice;
+        }
+
+        /**
+         * Changes the volume of every sound the pool holds.
+         *
+         * @param volume the new volume
+         */
+        void setVolume(float volume) {
+            for (int i = 0; i < sounds.length; i++) {
+                if (sounds[i] != null) sounds[i].setVolume(ids[i], volume);
+            }
+        }
+
+        /**
+         * Stops and unpins every sound the pool holds and frees its voices.
+         */
+        void stopAll() {
+            for (int i = 0; i < sounds.length; i++) {
+                if (sounds[i] == null) continue;
+                sounds[i].stop(ids[i]);
+                audioCache.unpin(sounds[i]);
+                sounds[i] = null;
+            }
+        }
     }
 
     /**
@@ -136,14 +266,15 @@ public class SoundManager implements Disposable {
         private Music bgMusic;
 
         /**
-         * Sets the background music for the SoundManager.
+         * Sets the background music for the SoundManager. The track is streamed and shared through the
+         * {@link AudioCache}, so setting the track that is already playing does not reopen it.
          *
          * @param name the file path of the background music to be set
          * @return this Builder instance for chaining
          */
         public Builder setbgMusic(String name) {
             try {
-                this.bgMusic = Gdx.audio.newMusic(Gdx.files.internal(name));
+                this.bgMusic = AudioCache.getInstance().getMusic(name);
             } catch (NullPointerException e) {
                 System.out.println("Error setting the bgMusic correctly.");
             }
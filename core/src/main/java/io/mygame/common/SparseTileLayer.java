@@ -0,0 +1,370 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * A tile layer that only stores its non-empty cells.
+ * {@link TiledMapTileLayer} keeps a full width by height grid of cells, and most decoration layers of the campus
+ * map are almost entirely empty. This layer keeps the occupied cells in compressed sparse row form instead: the
+ * cells of each row are stored contiguously and sorted by column, with the column of every cell alongside and
+ * the start of every row in a small index. Memory grows with the number of tiles rather than the map area, and a
+ * visible row is rendered by binary searching to its first visible cell and walking only the occupied ones.
+ */
+public class SparseTileLayer {
+    /************ VERTEX LAYOUT ************/
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+
+    /************ LAYER ************/
+    private final String name;
+    private final boolean visible;
+    private final float opacity;
+    private final float offsetX, offsetY;
+    private final int width, height;
+    private final float tileWidth, tileHeight;
+
+    /************ CELLS ************/
+    private final int[] rowStarts;
+    private final short[] columns;
+    private final Cell[] cells;
+
+    /************ SCRATCH ************/
+    private final float[] vertices = new float[SPRITE_SIZE];
+    private final float[] corners = new float[8];
+
+    /**
+     * Copies the non-empty cells of a tile layer. The source layer is not kept, so it can be discarded afterwards.
+     *
+     * @param layer the layer to copy
+     */
+    public SparseTileLayer(TiledMapTileLayer layer) {
+        name = layer.getName();
+        visible = layer.isVisible();
+        opacity = layer.getOpacity();
+        offsetX = layer.getRenderOffsetX();
+        offsetY = -layer.getRenderOffsetY();
+        width = layer.getWidth();
+        height = layer.getHeight();
+        tileWidth = layer.getTileWidth();
+        tileHeight = layer.getTileHeight();
+
+        int count = 0;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                if (isOccupied(layer.getCell(column, row))) count++;
+            }
+        }
+
+        rowStarts = new int[height + 1];
+        columns = new short[count];
+        cells = new Cell[count];
+
+        int index = 0;
+        for (int row = 0; row < height; row++) {
+            rowStarts[row] = index;
+            for (int column = 0; column < width; column++) {
+                Cell cell = layer.getCell(column, row);
+                if (!isOccupied(cell)) continue;
+                columns[index] = (short) column;
+                cells[index] = cell;
+                index++;
+            }
+        }
+        rowStarts[height] = index;
+    }
+
+    /**
+     * Constructs a layer from cells that are already in compressed sparse row form, e.g. one region of a
+     * streamed map. Tile positions are relative to the given offset, which includes the region origin.
+     *
+     * @param name       the name of the layer
+     * @param visible    whether the layer is drawn
+     * @param opacity    the opacity the layer is drawn with
+     * @param offsetX    the x offset of the layer's first column in world units
+     * @param offsetY    the y offset of the layer's first row in world units
+     * @param width      the width of the layer in tiles
+     * @param height     the height of the layer in tiles
+     * @param tileWidth  the width of a tile in world units
+     * @param tileHeight the height of a tile in world units
+     * @param rowStarts  the index of the first cell of every row, followed by the cell count
+     * @param columns    the column of every cell
+     * @param cells      the cells, row by row and sorted by column within a row
+     */
+    SparseTileLayer(String name, boolean visible, float opacity, float offsetX, float offsetY, int width, int height,
+                    float tileWidth, float tileHeight, int[] rowStarts, short[] columns, Cell[] cells) {
+        this.name = name;
+        this.visible = visible;
+        this.opacity = opacity;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.rowStarts = rowStarts;
+        this.columns = columns;
+        this.cells = cells;
+    }
+
+    /**
+     * Checks whether a cell holds a tile.
+     *
+     * @param cell the cell, which may be null
+     * @return true if the cell holds a tile
+     */
+    private static boolean isOccupied(Cell cell) {
+        return cell != null && cell.getTile() != null;
+    }
+
+    /**
+     * Finds the first cell of a row at or after a column.
+     *
+     * @param row    the row to search
+     * @param column the first column of interest
+     * @return the index of the cell, or the end of the row if no cell is at or after the column
+     */
+    public int findCell(int row, int column) {
+        int low = rowStarts[row];
+        int high = rowStarts[row + 1];
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (columns[middle] < column) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Gets the index of the first cell of a row.
+     *
+     * @param row the row
+     * @return the index of the first cell of the row
+     */
+    public int getRowStart(int row) {
+        return rowStarts[row];
+    }
+
+    /**
+     * Gets the index one past the last cell of a row.
+     *
+     * @param row the row
+     * @return the index one past the last cell of the row
+     */
+    public int getRowEnd(int row) {
+        return rowStarts[row + 1];
+    }
+
+    /**
+     * Gets the column of a stored cell.
+     *
+     * @param index the index of the cell
+     * @return the column of the cell
+     */
+    public int getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Gets a stored cell.
+     *
+     * @param index the index of the cell
+     * @return the cell, which always holds a tile
+     */
+    public Cell getCell(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Gets the number of cells that hold a tile.
+     *
+     * @return the number of stored cells
+     */
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    /**
+     * Draws the cells that intersect the view. Must be called between {@link Batch#begin()} and
+     * {@link Batch#end()}. Tiles are drawn exactly like
+     * {@link com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer} draws them, without parallax.
+     *
+     * @param batch      the batch to draw with
+     * @param viewBounds the visible area in world units
+     */
+    public void render(Batch batch, Rectangle viewBounds) {
+        if (!visible || cells.length == 0) return;
+
+        float color = Color.toFloatBits(1f, 1f, 1f, opacity);
+        int column1 = Math.max(0, (int) ((viewBounds.x - offsetX) / tileWidth));
+        int column2 = Math.min(width, (int) ((viewBounds.x + viewBounds.width + tileWidth - offsetX) / tileWidth));
+        int row1 = Math.max(0, (int) ((viewBounds.y - offsetY) / tileHeight));
+        int row2 = Math.min(height, (int) ((viewBounds.y + viewBounds.height + tileHeight - offsetY) / tileHeight));
+
+        for (int row = row2 - 1; row >= row1; row--) {
+            int end = rowStarts[row + 1];
+            for (int index = findCell(row, column1); index < end && columns[index] < column2; index++) {
+                Cell cell = cells[index];
+                TiledMapTile tile = cell.getTile();
+                TextureRegion region = tile.getTextureRegion();
+
+                float x = columns[index] * tileWidth + tile.getOffsetX() + offsetX;
+                float y = row * tileHeight + tile.getOffsetY() + offsetY;
+                float x2 = x + region.getRegionWidth();
+                float y2 = y + region.getRegionHeight();
+                getTextureCorners(cell, region, corners);
+
+                putVertex(0, x, y, color, corners[0], corners[1]);
+                putVertex(1, x, y2, color, corners[2], corners[3]);
+                putVertex(2, x2, y2, color, corners[4], corners[5]);
+                putVertex(3, x2, y, color, corners[6], corners[7]);
+                batch.draw(region.getTexture(), vertices, 0, SPRITE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Writes one vertex into the scratch vertex array.
+     */
+    private void putVertex(int index, float x, float y, float color, float u, float v) {
+        int offset = index * VERTEX_SIZE;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = color;
+        vertices[offset + 3] = u;
+        vertices[offset + 4] = v;
+    }
+
+    /**
+     * Computes the texture coordinates of the corners of a cell, applying its flips and rotation the same way
+     * {@link com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer} does.
+     *
+     * @param cell   the cell
+     * @param region the texture region of the cell's tile
+     * @param out    receives u and v of the bottom-left, top-left, top-right and bottom-right corners
+     */
+    static void getTextureCorners(Cell cell, TextureRegion region, float[] out) {
+        float u1 = region.getU(), v1 = region.getV2();
+        float u2 = region.getU(), v2 = region.getV();
+        float u3 = region.getU2(), v3 = region.getV();
+        float u4 = region.getU2(), v4 = region.getV2();
+        float temp;
+
+        if (cell.getFlipHorizontally()) {
+            temp = u1; u1 = u3; u3 = temp;
+            temp = u2; u2 = u4; u4 = temp;
+        }
+        if (cell.getFlipVertically()) {
+            temp = v1; v1 = v3; v3 = temp;
+            temp = v2; v2 = v4; v4 = temp;
+        }
+        switch (cell.getRotation()) {
+            case Cell.ROTATE_90 -> {
+                temp = v1; v1 = v2; v2 = v3; v3 = v4; v4 = temp;
+                temp = u1; u1 = u2; u2 = u3; u3 = u4; u4 = temp;
+            }
+            case Cell.ROTATE_180 -> {
+                temp = u1; u1 = u3; u3 = temp;
+                temp = u2; u2 = u4; u4 = temp;
+                temp = v1; v1 = v3; v3 = temp;
+                temp = v2; v2 = v4; v4 = temp;
+            }
+            case Cell.ROTATE_270 -> {
+                temp = v1; v1 = v4; v4 = v3; v3 = v2; v2 = temp;
+                temp = u1; u1 = u4; u4 = u3; u3 = u2; u2 = temp;
+            }
+            default -> { }
+        }
+
+        out[0] = u1; out[1] = v1;
+        out[2] = u2; out[3] = v2;
+        out[4] = u3; out[5] = v3;
+        out[6] = u4; out[7] = v4;
+    }
+
+    /**
+     * Gets the name of the layer.
+     *
+     * @return the layer name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Checks whether the layer is drawn.
+     *
+     * @return true if the layer is visible
+     */
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Gets the opacity the layer is drawn with.
+     *
+     * @return the opacity between 0 and 1
+     */
+    public float getOpacity() {
+        return opacity;
+    }
+
+    /**
+     * Gets the horizontal offset of the layer in world units.
+     *
+     * @return the offset to add to the x position of every tile
+     */
+    public float getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * Gets the vertical offset of the layer in world units, already flipped to the y-up world.
+     *
+     * @return the offset to add to the y position of every tile
+     */
+    public float getOffsetY() {
+        return offsetY;
+    }
+
+    /**
+     * Gets the width of the layer in tiles.
+     *
+     * @return the width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Gets the height of the layer in tiles.
+     *
+     * @return the height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets the width of a tile in world units.
+     *
+     * @return the tile width
+     */
+    public float getTileWidth() {
+        return tileWidth;
+    }
+
+    /**
+     * Gets the height of a tile in world units.
+     *
+     * @return the tile height
+     */
+    public float getTileHeight() {
+        return tileHeight;
+    }
+}
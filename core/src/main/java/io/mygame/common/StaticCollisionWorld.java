@@ -0,0 +1,340 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.objects.PolygonMapObject;
+import com.badlogic.gdx.maps.objects.RectangleMapObject;
+import com.badlogic.gdx.math.EarClippingTriangulator;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ShortArray;
+
+/**
+ * Precompiled static collision geometry built once from a collision object layer.
+ * Every shape is stored as a flattened world-space vertex array with a precomputed bounding box, and
+ * concave polygons are decomposed into convex pieces up front so the separating axis test stays valid.
+ * Queries go through the rasterized {@link CollisionMask}, then the {@link CollisionGrid}, then a bounding
+ * box rejection, and only then the SAT test, without allocating during a query.
+ */
+public class StaticCollisionWorld {
+    /************ SHAPES ************/
+    private final Array<float[]> outlines;
+    private final Array<Rectangle> shapeBounds;
+    private final BooleanArray rectangleShapes;
+
+    /************ CONVEX PIECES ************/
+    private final Array<float[]> pieces;
+    private final Array<Rectangle> pieceBounds;
+    private final BooleanArray boxPieces;
+
+    /************ ACCELERATION STRUCTURES ************/
+    private final CollisionGrid grid;
+    private final CollisionMask mask;
+
+    /************ SCRATCH ************/
+    private final EarClippingTriangulator triangulator;
+    private final IntArray candidates;
+    private final float[] boxVertices;
+
+    /**
+     * Constructs an empty StaticCollisionWorld.
+     */
+    public StaticCollisionWorld() {
+        outlines = new Array<>();
+        shapeBounds = new Array<>();
+        rectangleShapes = new BooleanArray();
+        pieces = new Array<>();
+        pieceBounds = new Array<>();
+        boxPieces = new BooleanArray();
+        grid = new CollisionGrid();
+        mask = new CollisionMask();
+        triangulator = new EarClippingTriangulator();
+        candidates = new IntArray();
+        boxVertices = new float[8];
+    }
+
+    /**
+     * Compiles the objects of a collision layer. Replaces any previously compiled geometry.
+     *
+     * @param objectLayer the collision layer, or null for an empty world
+     * @param maskArea    the area rasterized into the collision mask in world units, such as the whole map or
+     *                    the active regions of a streamed map
+     * @throws ClassCastException if the layer contains an object that is neither a RectangleMapObject nor
+     *                            a PolygonMapObject
+     */
+    public void rebuild(MapLayer objectLayer, Rectangle maskArea) {
+        outlines.clear();
+        shapeBounds.clear();
+        rectangleShapes.clear();
+        pieces.clear();
+        pieceBounds.clear();
+        boxPieces.clear();
+
+        if (objectLayer != null) {
+            for (MapObject object : objectLayer.getObjects()) {
+                if (object instanceof RectangleMapObject rectangleObj) {
+                    addRectangle(rectangleObj.getRectangle());
+                } else if (object instanceof PolygonMapObject polygonObj) {
+                    addPolygon(polygonObj.getPolygon().getTransformedVertices().clone());
+                } else {
+                    throw new ClassCastException("Object is not a RectangleMapObject nor a PolygonMapObject");
+                }
+            }
+        }
+
+        grid.rebuild(pieceBounds);
+        mask.rebuild(this, maskArea);
+    }
+
+    /**
+     * Adds a rectangle shape, which is its own single convex piece.
+     *
+     * @param rect the rectangle to add
+     */
+    private void addRectangle(Rectangle rect) {
+        float[] vertices = {
+            rect.x, rect.y,
+            rect.x + rect.width, rect.y,
+            rect.x + rect.width, rect.y + rect.height,
+            rect.x, rect.y + rect.height
+        };
+        outlines.add(vertices);
+        shapeBounds.add(new Rectangle(rect));
+        rectangleShapes.add(true);
+
+        pieces.add(vertices);
+        pieceBounds.add(new Rectangle(rect));
+        boxPieces.add(true);
+    }
+
+    /**
+     * Adds a polygon shape, decomposing it into triangles when it is concave.
+     *
+     * @param vertices the world-space polygon vertices as x,y pairs
+     */
+    private void addPolygon(float[] vertices) {
+        outlines.add(vertices);
+        shapeBounds.add(computeBounds(vertices));
+        rectangleShapes.add(false);
+
+        if (isConvex(vertices)) {
+            addPiece(vertices);
+            return;
+        }
+
+        ShortArray triangles = triangulator.computeTriangles(vertices);
+        for (int i = 0; i < triangles.size; i += 3) {
+            float[] triangle = new float[6];
+            for (int corner = 0; corner < 3; corner++) {
+                int vertex = triangles.get(i + corner) * 2;
+                triangle[corner * 2] = vertices[vertex];
+                triangle[corner * 2 + 1] = vertices[vertex + 1];
+            }
+            addPiece(triangle);
+        }
+    }
+
+    /**
+     * Adds a convex polygon piece with its bounding box.
+     *
+     * @param vertices the convex piece vertices as x,y pairs
+     */
+    private void addPiece(float[] vertices) {
+        pieces.add(vertices);
+        pieceBounds.add(computeBounds(vertices));
+        boxPieces.add(false);
+    }
+
+    /**
+     * Checks whether a polygon is convex, i.e. every turn along its outline goes the same way.
+     *
+     * @param vertices the polygon vertices as x,y pairs
+     * @return true if the polygon is convex, false otherwise
+     */
+    private static boolean isConvex(float[] vertices) {
+        int count = vertices.length;
+        int sign = 0;
+
+        for (int i = 0; i < count; i += 2) {
+            float ax = vertices[i], ay = vertices[i + 1];
+            float bx = vertices[(i + 2) % count], by = vertices[(i + 3) % count];
+            float cx = vertices[(i + 4) % count], cy = vertices[(i + 5) % count];
+            float cross = (bx - ax) * (cy - by) - (by - ay) * (cx - bx);
+
+            if (cross != 0) {
+                int turn = cross > 0 ? 1 : -1;
+                if (sign == 0) sign = turn;
+                else if (turn != sign) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the bounding box of a vertex array.
+     *
+     * @param vertices the vertices as x,y pairs
+     * @return a new rectangle enclosing every vertex
+     */
+    private static Rectangle computeBounds(float[] vertices) {
+        float minX = Float.MAX_VALUE, minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < vertices.length; i += 2) {
+            minX = Math.min(minX, vertices[i]);
+            maxX = Math.max(maxX, vertices[i]);
+            minY = Math.min(minY, vertices[i + 1]);
+            maxY = Math.max(maxY, vertices[i + 1]);
+        }
+        return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Checks whether a box overlaps any static geometry.
+     *
+     * @param box the box to test, usually an entity's collision box
+     * @return true if the box overlaps a shape, false otherwise
+     */
+    public boolean overlaps(Rectangle box) {
+        switch (mask.test(box)) {
+            case FREE:
+                return false;
+            case BLOCKED:
+                return true;
+            default:
+                break;
+        }
+
+        grid.query(box, candidates);
+        for (int i = 0; i < candidates.size; i++) {
+            int piece = candidates.get(i);
+            if (!box.overlaps(pieceBounds.get(piece))) continue;
+            if (boxPieces.get(piece)) return true;
+
+            float[] vertices = pieces.get(piece);
+            if (Intersector.overlapConvexPolygons(toVertices(box), 0, 8, vertices, 0, vertices.length, null)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the given area might contain static geometry according to the collision mask.
+     *
+     * @param area the area to test
+     * @return false if the area is guaranteed to be free, true otherwise
+     */
+    public boolean mayOverlap(Rectangle area) {
+        return mask.test(area) != CollisionMask.Result.FREE;
+    }
+
+    /**
+     * Collects the ids of the convex pieces whose grid cells are touched by the given area.
+     *
+     * @param area the area to query
+     * @param out  the array receiving the piece ids; it is cleared first
+     * @return the same array passed as {@code out}
+     */
+    public IntArray query(Rectangle area, IntArray out) {
+        return grid.query(area, out);
+    }
+
+    /**
+     * Writes the corners of a box into the shared scratch vertex array.
+     *
+     * @param box the box to convert
+     * @return the scratch array holding the four corners as x,y pairs
+     */
+    private float[] toVertices(Rectangle box) {
+        boxVertices[0] = box.x;
+        boxVertices[1] = box.y;
+        boxVertices[2] = box.x + box.width;
+        boxVertices[3] = box.y;
+        boxVertices[4] = box.x + box.width;
+        boxVertices[5] = box.y + box.height;
+        boxVertices[6] = box.x;
+        boxVertices[7] = box.y + box.height;
+        return boxVertices;
+    }
+
+    /**
+     * Gets the number of convex pieces.
+     *
+     * @return the piece count
+     */
+    public int getPieceCount() {
+        return pieces.size;
+    }
+
+    /**
+     * Checks whether a piece is an axis-aligned box.
+     *
+     * @param piece the piece id
+     * @return true if the piece is an axis-aligned box, false if it is a polygon
+     */
+    public boolean isBoxPiece(int piece) {
+        return boxPieces.get(piece);
+    }
+
+    /**
+     * Gets the bounding box of a piece.
+     *
+     * @param piece the piece id
+     * @return the bounding box of the piece
+     */
+    public Rectangle getPieceBounds(int piece) {
+        return pieceBounds.get(piece);
+    }
+
+    /**
+     * Gets the vertices of a piece.
+     *
+     * @param piece the piece id
+     * @return the convex piece vertices as x,y pairs
+     */
+    public float[] getPieceVertices(int piece) {
+        return pieces.get(piece);
+    }
+
+    /**
+     * Gets the number of source shapes.
+     *
+     * @return the shape count
+     */
+    public int getShapeCount() {
+        return outlines.size;
+    }
+
+    /**
+     * Checks whether a source shape is an axis-aligned rectangle.
+     *
+     * @param shape the shape id
+     * @return true if the shape is a rectangle, false if it is a polygon
+     */
+    public boolean isRectangleShape(int shape) {
+        return rectangleShapes.get(shape);
+    }
+
+    /**
+     * Gets the bounding box of a source shape.
+     *
+     * @param shape the shape id
+     * @return the bounding box of the shape
+     */
+    public Rectangle getShapeBounds(int shape) {
+        return shapeBounds.get(shape);
+    }
+
+    /**
+     * Gets the outline of a source shape before decomposition.
+     *
+     * @param shape the shape id
+     * @return the outline vertices as x,y pairs
+     */
+    public float[] getShapeOutline(int shape) {
+        return outlines.get(shape);
+    }
+}
@@ -0,0 +1,170 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import io.mygame.entities.NPC;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sort-and-sweep broadphase for NPC-vs-NPC collisions.
+ * NPCs are kept sorted by the left edge of their collision bounds along the X axis. Since NPCs barely move
+ * between frames, the order from the previous frame is reused and repaired with an insertion sort, which is
+ * close to linear when the order is nearly sorted. A single sweep over the sorted list then collects the
+ * pairs whose bounds overlap on both axes.
+ * <p>
+ * The bounds of each NPC cover both its current and its previous position, so the pairs stay valid while
+ * collision resolution moves NPCs back towards their previous positions during the same frame.
+ * <p>
+ * When only some NPCs moved, only their bounds are refreshed and only their pairs are recorded. The bounds of
+ * the others still cover the movement they were last resolved within, so they are never too small.
+ */
+public class SweepAndPrune {
+    /************ SORTED ORDER ************/
+    private int[] order;
+    private int count;
+
+    /************ SWEPT BOUNDS ************/
+    private float[] minX, minY, maxX, maxY;
+
+    /************ OVERLAPPING PAIRS ************/
+    private IntArray[] partners;
+    private boolean[] moving;
+
+    /**
+     * Constructs an empty SweepAndPrune broadphase.
+     */
+    public SweepAndPrune() {
+        order = new int[0];
+        minX = new float[0];
+        minY = new float[0];
+        maxX = new float[0];
+        maxY = new float[0];
+        partners = new IntArray[0];
+        moving = new boolean[0];
+    }
+
+    /**
+     * Refreshes the bounds of every NPC, repairs the sort order and recomputes the overlapping pairs.
+     * Should be called once per frame before the NPC collisions are resolved.
+     *
+     * @param npcs the NPCs to sweep; an NPC's id is its index in this list
+     */
+    public void update(List<NPC> npcs) {
+        update(npcs, null);
+    }
+
+    /**
+     * Refreshes the bounds of the NPCs that moved, repairs the sort order and recomputes the overlapping pairs
+     * of the NPCs that moved. The pairs of the other NPCs are left stale and must not be asked for.
+     *
+     * @param npcs  the NPCs to sweep; an NPC's id is its index in this list
+     * @param moved the ids of the NPCs that moved since the last update, or null if every NPC may have moved
+     */
+    public void update(List<NPC> npcs, IntArray moved) {
+        boolean resized = npcs.size() != count;
+        if (resized) resize(npcs.size());
+
+        if (moved == null || resized) {
+            for (int id = 0; id < count; id++) {
+                refresh(npcs.get(id), id);
+            }
+        } else {
+            Arrays.fill(moving, false);
+            for (int i = 0; i < moved.size; i++) {
+                int id = moved.get(i);
+                refresh(npcs.get(id), id);
+            }
+        }
+
+        insertionSort();
+        sweep();
+    }
+
+    /**
+     * Sets the bounds of an NPC to cover its current and previous position, and marks it as moving.
+     *
+     * @param npc the NPC
+     * @param id  the id of the NPC
+     */
+    private void refresh(NPC npc, int id) {
+        Rectangle box = npc.getCollisionBox();
+        float dx = npc.getPreviousX() - npc.getX();
+        float dy = npc.getPreviousY() - npc.getY();
+
+        minX[id] = box.x + Math.min(dx, 0);
+        maxX[id] = box.x + box.width + Math.max(dx, 0);
+        minY[id] = box.y + Math.min(dy, 0);
+        maxY[id] = box.y + box.height + Math.max(dy, 0);
+        partners[id].clear();
+        moving[id] = true;
+    }
+
+    /**
+     * Resets the order when NPCs are added or removed.
+     *
+     * @param newCount the new number of NPCs
+     */
+    private void resize(int newCount) {
+        count = newCount;
+        order = new int[count];
+        minX = new float[count];
+        minY = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        partners = new IntArray[count];
+        moving = new boolean[count];
+
+        for (int id = 0; id < count; id++) {
+            order[id] = id;
+            partners[id] = new IntArray(4);
+        }
+    }
+
+    /**
+     * Repairs the order left over from the previous frame by the left edge of the bounds.
+     */
+    private void insertionSort() {
+        for (int i = 1; i < count; i++) {
+            int id = order[i];
+            float key = minX[id];
+            int j = i - 1;
+
+            while (j >= 0 && minX[order[j]] > key) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = id;
+        }
+    }
+
+    /**
+     * Sweeps the sorted list and records every pair whose bounds overlap on both axes with the NPCs that moved.
+     */
+    private void sweep() {
+        for (int i = 0; i < count; i++) {
+            int a = order[i];
+
+            for (int j = i + 1; j < count; j++) {
+                int b = order[j];
+                if (minX[b] > maxX[a]) break;
+
+                if (minY[a] <= maxY[b] && minY[b] <= maxY[a]) {
+                    if (moving[a]) partners[a].add(b);
+                    if (moving[b]) partners[b].add(a);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the ids of the NPCs whose bounds overlap the bounds of the given NPC.
+     *
+     * @param id the index of an NPC that moved in the last {@link #update(List, IntArray)}
+     * @return the ids of the potentially colliding NPCs
+     */
+    public IntArray getPartners(int id) {
+        return partners[id];
+    }
+}
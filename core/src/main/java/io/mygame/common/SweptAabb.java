@@ -0,0 +1,73 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * Continuous collision test between a moving axis-aligned box and a static one.
+ * Computes the fraction of a movement at which the moving box first touches the static box, together with
+ * the contact normal, so that movement can stop at the point of impact instead of tunneling through
+ * thin geometry when a single frame covers a large distance.
+ */
+public final class SweptAabb {
+    /************ NO IMPACT ************/
+    public static final float NO_HIT = 1f;
+
+    /**
+     * Private constructor to prevent instantiation of the SweptAabb class.
+     */
+    private SweptAabb() {}
+
+    /**
+     * Sweeps a moving box along a displacement against a static box.
+     * Boxes that already overlap at the start of the movement are ignored, as are boxes that only touch
+     * along an edge parallel to the movement.
+     *
+     * @param moving the moving box at the start of the movement
+     * @param dx     the x displacement of the movement
+     * @param dy     the y displacement of the movement
+     * @param target the static box
+     * @param normal receives the contact normal pointing away from the static box when there is an impact
+     * @return the time of impact in [0, 1), or {@link #NO_HIT} if the boxes do not meet during the movement
+     */
+    public static float sweep(Rectangle moving, float dx, float dy, Rectangle target, Vector2 normal) {
+        float entryX, exitX, entryY, exitY;
+
+        if (dx > 0) {
+            entryX = (target.x - (moving.x + moving.width)) / dx;
+            exitX = (target.x + target.width - moving.x) / dx;
+        } else if (dx < 0) {
+            entryX = (target.x + target.width - moving.x) / dx;
+            exitX = (target.x - (moving.x + moving.width)) / dx;
+        } else {
+            if (moving.x + moving.width <= target.x || moving.x >= target.x + target.width) return NO_HIT;
+            entryX = Float.NEGATIVE_INFINITY;
+            exitX = Float.POSITIVE_INFINITY;
+        }
+
+        if (dy > 0) {
+            entryY = (target.y - (moving.y + moving.height)) / dy;
+            exitY = (target.y + target.height - moving.y) / dy;
+        } else if (dy < 0) {
+            entryY = (target.y + target.height - moving.y) / dy;
+            exitY = (target.y - (moving.y + moving.height)) / dy;
+        } else {
+            if (moving.y + moving.height <= target.y || moving.y >= target.y + target.height) return NO_HIT;
+            entryY = Float.NEGATIVE_INFINITY;
+            exitY = Float.POSITIVE_INFINITY;
+        }
+
+        float entry = Math.max(entryX, entryY);
+        float exit = Math.min(exitX, exitY);
+
+        // No impact, impact after this movement, or already overlapping at the start
+        if (entry >= exit || entry >= 1f || entry < 0f) return NO_HIT;
+
+        if (entryX > entryY) {
+            normal.set(dx > 0 ? -1 : 1, 0);
+        } else {
+            normal.set(0, dy > 0 ? -1 : 1);
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,213 @@
+package io.mygame.common;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * The TextureCache class shares sprite sheets and their animations between entities.
+ * Sprite sheets are read from the packed character atlas ({@value #SPRITE_ATLAS}) generated by the
+ * {@code packAtlases} Gradle task, so every character is drawn from the same texture page and the entity
+ * pass does not flush the SpriteBatch between characters. When the atlas has not been packed yet, the
+ * loose sprite sheet PNGs are loaded instead.
+ * <p>
+ * Assets are loaded through a libGDX {@link AssetManager}, which reference counts every acquire, so
+ * entities of the same type share a single texture and a single set of animations no matter how many of
+ * them exist. An asset is disposed once every entity using it has released it.
+ * The TextureCache follows a singleton pattern.
+ */
+public class TextureCache implements Disposable {
+    /************ SINGLETON INSTANCE ************/
+    private static TextureCache instance;
+
+    /************ PACKED ATLAS ************/
+    public static final String SPRITE_ATLAS = "atlas/sprites.atlas";
+
+    /************ ASSET LOADING ************/
+    private AssetManager assetManager;
+
+    /************ SHARED ANIMATIONS ************/
+    private final ObjectMap<String, Array<Animation<TextureRegion>>> animations;
+
+    /**
+     * Private constructor to enforce the singleton pattern.
+     */
+    private TextureCache() {
+        animations = new ObjectMap<>();
+    }
+
+    /**
+     * Gets the singleton instance of the TextureCache.
+     * @return The TextureCache instance.
+     */
+    public static TextureCache getInstance() {
+        if (instance == null) instance = new TextureCache();
+        return instance;
+    }
+
+    /**
+     * Gets the asset manager, creating a new one if the cache was disposed.
+     * @return The asset manager backing this cache.
+     */
+    private AssetManager getAssetManager() {
+        if (assetManager == null) {
+            assetManager = new AssetManager();
+            assetManager.setLoader(Texture.class, new PixmapDecoder.TextureLoader(assetManager.getFileHandleResolver()));
+        }
+        return assetManager;
+    }
+
+    /**
+     * Checks whether the packed character atlas is available.
+     * @return True if the sprite atlas exists, false if the loose sprite sheets must be used.
+     */
+    private boolean hasSpriteAtlas() {
+        return Gdx.files.internal(SPRITE_ATLAS).exists();
+    }
+
+    /**
+     * Gets the name of the asset that holds the given sprite sheet.
+     * @param path The internal path of the sprite sheet.
+     * @return The sprite atlas if it is available, otherwise the sprite sheet path itself.
+     */
+    private String getSource(String path) {
+        return hasSpriteAtlas() ? SPRITE_ATLAS : path;
+    }
+
+    /**
+     * Acquires a reference to the sprite sheet at the given path, loading it on first use.
+     * Every call must be balanced by a call to {@link #release(String)}.
+     *
+     * @param path the internal path of the sprite sheet
+     * @return the whole sprite sheet as a region of the shared texture
+     * @throws GdxRuntimeException if the sprite sheet cannot be found
+     */
+    public TextureRegion acquireRegion(String path) {
+        AssetManager manager = getAssetManager();
+        String source = getSource(path);
+
+        if (source.equals(SPRITE_ATLAS)) {
+            manager.load(SPRITE_ATLAS, TextureAtlas.class);
+            manager.finishLoadingAsset(SPRITE_ATLAS);
+
+            String regionName = path.substring(path.lastIndexOf('/') + 1, path.lastIndexOf('.'));
+            TextureRegion region = manager.get(SPRITE_ATLAS, TextureAtlas.class).findRegion(regionName);
+            if (region == null) {
+                manager.unload(SPRITE_ATLAS);
+                throw new GdxRuntimeException("Region " + regionName + " not found in " + SPRITE_ATLAS);
+            }
+            return region;
+        }
+
+        manager.load(path, Texture.class);
+        manager.finishLoadingAsset(path);
+        return new TextureRegion(manager.get(path, Texture.class));
+    }
+
+    /**
+     * Queues the asset holding the sprite sheet at the given path for asynchronous loading, so a later
+     * acquire does not block. Takes one reference, which must be balanced by a call to {@link #release(String)}
+     * once the asset has loaded. Loading progresses while {@link #update()} is called, and the images are decoded
+     * by the {@link PixmapDecoder}.
+     *
+     * @param path the internal path of the sprite sheet
+     */
+    public void preload(String path) {
+        AssetManager manager = getAssetManager();
+        String source = getSource(path);
+        boolean atlas = source.equals(SPRITE_ATLAS);
+
+        // The images are decoded on the worker pool, so the sheets do not decode one after another
+        if (!manager.contains(source)) {
+            if (atlas) PixmapDecoder.getInstance().decodeAtlasPages(Gdx.files.internal(source));
+            else PixmapDecoder.getInstance().decode(Gdx.files.internal(source));
+        }
+        manager.load(source, atlas ? TextureAtlas.class : Texture.class);
+    }
+
+    /**
+     * Continues loading the queued assets for a short time slice. Must be called on the render thread.
+     *
+     * @return True if every queued asset has loaded, false otherwise.
+     */
+    public boolean update() {
+        return getAssetManager().update();
+    }
+
+    /**
+     * Gets the loading progress of the queued assets.
+     *
+     * @return The progress between 0 and 1, which is 1 when nothing is queued.
+     */
+    public float getProgress() {
+        return getAssetManager().getProgress();
+    }
+
+    /**
+     * Acquires a reference to the sprite sheet at the given path and returns its shared animations,
+     * building them on first use. Every call must be balanced by a call to {@link #release(String)}.
+     *
+     * @param path the internal path of the sprite sheet
+     * @return the shared animations in the order defined by {@link AnimationLoader}
+     */
+    public Array<Animation<TextureRegion>> acquireAnimations(String path) {
+        TextureRegion spriteSheet = acquireRegion(path);
+
+        Array<Animation<TextureRegion>> animationSet = animations.get(path);
+        if (animationSet == null) {
+            animationSet = AnimationLoader.createAnimations(spriteSheet);
+            animations.put(path, animationSet);
+        }
+        return animationSet;
+    }
+
+    /**
+     * Releases one reference to the sprite sheet at the given path. The underlying asset and the
+     * animations built from it are disposed when the last reference is released.
+     *
+     * @param path the internal path of the sprite sheet
+     */
+    public void release(String path) {
+        String source = getSource(path);
+        if (assetManager == null || !assetManager.isLoaded(source)) return;
+
+        assetManager.unload(source);
+        if (!assetManager.isLoaded(source)) {
+            if (source.equals(SPRITE_ATLAS)) animations.clear();
+            else animations.remove(path);
+        }
+    }
+
+    /**
+     * Gets the number of references currently held on the asset holding the given sprite sheet.
+     *
+     * @param path the internal path of the sprite sheet
+     * @return the reference count, or 0 if the asset is not loaded
+     */
+    public int getReferenceCount(String path) {
+        String source = getSource(path);
+        if (assetManager == null || !assetManager.isLoaded(source)) return 0;
+        return assetManager.getReferenceCount(source);
+    }
+
+    /**
+     * Disposes every cached asset and animation regardless of outstanding references.
+     * The cache can still be used afterwards and will load assets again on demand.
+     */
+    @Override
+    public void dispose() {
+        animations.clear();
+
+        if (assetManager != null) {
+            assetManager.dispose();
+            assetManager = null;
+        }
+    }
+}
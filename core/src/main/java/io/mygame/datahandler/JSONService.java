@@ -3,8 +3,8 @@ package io.mygame.datahandler;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
-import java.io.FileReader;
 import java.io.FileWriter;
+import java.io.Reader;
 
 /**
  * Provides methods for serializing and deserializing objects to and from JSON using Gson.
@@ -28,14 +28,14 @@ public class JSONService {
     }
 
     /**
-     * Deserializes the JSON data from the specified FileReader into an object of the given class type.
+     * Deserializes the JSON data from the specified Reader into an object of the given class type.
      *
-     * @param fr    the FileReader from which to read the JSON data
+     * @param fr    the Reader from which to read the JSON data, e.g. a FileReader
      * @param clazz the class type to deserialize into
      * @param <T>   the type of object to return
      * @return the deserialized object
      */
-    public <T extends Serializable> T deserialize(FileReader fr, Class<T> clazz) {
+    public <T extends Serializable> T deserialize(Reader fr, Class<T> clazz) {
         return gson.fromJson(fr, clazz);
     }
 }
@@ -1,6 +1,5 @@
 package io.mygame.entities;
 
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Polygon;
@@ -29,14 +28,15 @@ public abstract class Entity {
     private Polygon collisionPolygon;
 
     /**
-     * Constructs an Entity with a texture and initial position.
+     * Constructs an Entity with a sprite sheet and initial position.
+     * The first 16x32 frame of the sheet is used as the entity's texture.
      *
-     * @param npcTexture the texture for the entity
+     * @param spriteSheet the sprite sheet region for the entity
      * @param x the initial x position
      * @param y the initial y position
      */
-    public Entity(Texture npcTexture, float x, float y) {
-        this.textureRegion = new TextureRegion(npcTexture, 0, 0, 16, 32);
+    public Entity(TextureRegion spriteSheet, float x, float y) {
+        this.textureRegion = new TextureRegion(spriteSheet, 0, 0, 16, 32);
         this.x = x;
         this.y = y;
         this.width = textureRegion.getRegionWidth();
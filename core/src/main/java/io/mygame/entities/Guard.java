@@ -19,10 +19,10 @@ public abstract class Guard extends NPC {
 
     /**
      * Represents a specific type of Guard with its own sprite.
-     * This Guard uses the file `Sprites/Guard1.png` as its sprite.
+     * This Guard uses the file `sprites/Guard1.png` as its sprite.
      */
     public static class Guard1 extends Guard {
-        private static final String fileName = "Sprites/Guard1.png";
+        private static final String fileName = "sprites/Guard1.png";
 
         /**
          * Constructs a Guard1 instance with the specified position and movement type.
@@ -38,10 +38,10 @@ public abstract class Guard extends NPC {
 
     /**
      * Represents a specific type of Guard with its own sprite.
-     * This Guard uses the file `Sprites/Guard2.png` as its sprite.
+     * This Guard uses the file `sprites/Guard2.png` as its sprite.
      */
     public static class Guard2 extends Guard {
-        private static final String fileName = "Sprites/Guard2.png";
+        private static final String fileName = "sprites/Guard2.png";
 
         /**
          * Constructs a Guard2 instance with the specified position and movement type.
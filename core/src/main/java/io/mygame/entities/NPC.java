@@ -1,10 +1,10 @@
 package io.mygame.entities;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import io.mygame.common.AnimationLoader;
+import io.mygame.common.TextureCache;
 import io.mygame.enums.Direction;
 
 /**
@@ -18,6 +18,7 @@ public abstract class NPC extends Entity {
 
     /************ NPC TYPE AND IDENTIFICATION ************/
     private final String npcType;
+    private final String fileName;
 
     /************ NPC SPEED ************/
     private static final float SPEED = 75f;
@@ -51,10 +52,13 @@ public abstract class NPC extends Entity {
      * @param type         the type of the NPC
      */
     public NPC(String fileName, float x, float y, String movementType, String type) {
-        super(new Texture(Gdx.files.internal(fileName)), x, y);
+        super(TextureCache.getInstance().acquireRegion(fileName), x, y);
+        this.fileName = fileName;
         npcType = type;
         originalX = x;
         originalY = y;
+        previousX = x;
+        previousY = y;
         this.npcAnimation = new AnimationLoader(fileName);
         this.movementType = movementType;
     }
@@ -70,26 +74,37 @@ public abstract class NPC extends Entity {
     }
 
     /**
-     * Updates the NPC's state, including movement and animation.
+     * Updates the NPC's state, including movement and animation, by the time since the last frame.
      */
     public void update() {
+        update(Gdx.graphics.getDeltaTime());
+    }
+
+    /**
+     * Updates the NPC's state, including movement and animation, by a given time. NPCs that are not updated
+     * every frame pass the time accumulated since their last update.
+     *
+     * @param delta the time in seconds since the NPC was last updated
+     */
+    public void update(float delta) {
         if (movementType.equalsIgnoreCase("targeted")) {
-            moveTowardsTarget();
+            moveTowardsTarget(delta);
         } else if (movementType.equalsIgnoreCase("horizontal")) {
-            moveHorizontally();
+            moveHorizontally(delta);
         } else if (movementType.equalsIgnoreCase("vertical")) {
-            moveVertically();
+            moveVertically(delta);
         } else if (movementType.equalsIgnoreCase("in-place")) {
             setStopAnimation();
         }
-        stateTime += Gdx.graphics.getDeltaTime();
+        stateTime += delta;
     }
 
     /**
      * Moves the NPC towards its target position.
+     *
+     * @param delta the time in seconds to move for
      */
-    private void moveTowardsTarget() {
-        float delta = Gdx.graphics.getDeltaTime();
+    private void moveTowardsTarget(float delta) {
         float dx = targetX - getX();
         float dy = targetY - getY();
         float distance = (float) Math.sqrt(dx * dx + dy * dy);
@@ -104,6 +119,12 @@ public abstract class NPC extends Entity {
                 stepY /= (float) Math.sqrt(2);
             }
 
+            // A long accumulated delta must not carry the NPC past its target
+            if (stepX * stepX + stepY * stepY > distance * distance) {
+                stepX = dx;
+                stepY = dy;
+            }
+
             setPosition(getX() + stepX, getY() + stepY);
             updateDirection();
         } else {
@@ -113,13 +134,14 @@ public abstract class NPC extends Entity {
 
     /**
      * Moves the NPC horizontally between two points.
+     *
+     * @param delta the time in seconds to move for
      */
-    private void moveHorizontally() {
-        float delta = Gdx.graphics.getDeltaTime();
+    private void moveHorizontally(float delta) {
         float distance = targetX - getX();
 
         if (Math.abs(distance) > 1) {
-            float stepX = (distance > 0 ? 1 : -1) * SPEED * delta;
+            float stepX = (distance > 0 ? 1 : -1) * Math.min(SPEED * delta, Math.abs(distance));
             setPosition(getX() + stepX, getY());
             updateDirection();
         } else {
@@ -136,13 +158,14 @@ public abstract class NPC extends Entity {
 
     /**
      * Moves the NPC vertically between two points.
+     *
+     * @param delta the time in seconds to move for
      */
-    private void moveVertically() {
-        float delta = Gdx.graphics.getDeltaTime();
+    private void moveVertically(float delta) {
         float distance = targetY - getY();
 
         if (Math.abs(distance) > 1) {
-            float stepY = (distance > 0 ? 1 : -1) * SPEED * delta;
+            float stepY = (distance > 0 ? 1 : -1) * Math.min(SPEED * delta, Math.abs(distance));
             setPosition(getX(), getY() + stepY);
             updateDirection();
         } else {
@@ -262,4 +285,12 @@ public abstract class NPC extends Entity {
     public void setPreviousY(float previousY) {
         this.previousY = previousY;
     }
+
+    /**
+     * Releases the NPC's references to its shared sprite sheet.
+     */
+    public void dispose() {
+        npcAnimation.dispose();
+        TextureCache.getInstance().release(fileName);
+    }
 }
@@ -41,7 +41,7 @@ public abstract class Pet extends NPC {
      * This Pet is loaded with a unique file name representing the sprite.
      */
     public static class Pet2 extends Pet {
-        private static final String fileName = "Sprites/BrunoCat.png";
+        private static final String fileName = "sprites/BrunoCat.png";
 
         /**
          * Constructs a Pet2 instance with the specified position and movement type.
@@ -39,7 +39,7 @@ public class Player extends Entity {
         super(16, 32); // Calls parent constructor with specific size
         GameManager gameManager = GameManager.getInstance();
         setPosition(gameManager.getXPosition(), gameManager.getYPosition());
-        playerAnimation = new AnimationLoader("Sprites/Player.png"); // Loads player animation
+        playerAnimation = new AnimationLoader("sprites/Player.png"); // Loads player animation
     }
 
     /**
@@ -185,4 +185,11 @@ public class Player extends Entity {
     public void setDirection(Direction direction) {
         this.direction = direction;
     }
+
+    /**
+     * Releases the player's reference to its shared sprite sheet.
+     */
+    public void dispose() {
+        playerAnimation.dispose();
+    }
 }
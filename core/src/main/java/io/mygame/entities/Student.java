@@ -20,10 +20,10 @@ public abstract class Student extends NPC {
 
     /**
      * Represents a specific male college student with its own sprite.
-     * This student uses the file `Sprites/CollegeMale1.png` as its sprite.
+     * This student uses the file `sprites/CollegeMale1.png` as its sprite.
      */
     public static class CollegeMale1 extends Student {
-        private static final String fileName = "Sprites/CollegeMale1.png";
+        private static final String fileName = "sprites/CollegeMale1.png";
 
         /**
          * Constructs a CollegeMale1 instance with the specified position and movement type.
@@ -39,10 +39,10 @@ public abstract class Student extends NPC {
 
     /**
      * Represents a specific male college student with its own sprite.
-     * This student uses the file `Sprites/CollegeMale2.png` as its sprite.
+     * This student uses the file `sprites/CollegeMale2.png` as its sprite.
      */
     public static class CollegeMale2 extends Student {
-        private static final String fileName = "Sprites/CollegeMale2.png";
+        private static final String fileName = "sprites/CollegeMale2.png";
 
         /**
          * Constructs a CollegeMale2 instance with the specified position and movement type.
@@ -58,10 +58,10 @@ public abstract class Student extends NPC {
 
     /**
      * Represents a specific female college student with its own sprite.
-     * This student uses the file `Sprites/CollegeFemale1.png` as its sprite.
+     * This student uses the file `sprites/CollegeFemale1.png` as its sprite.
      */
     public static class CollegeFemale1 extends Student {
-        private static final String fileName = "Sprites/CollegeFemale1.png";
+        private static final String fileName = "sprites/CollegeFemale1.png";
 
         /**
          * Constructs a CollegeFemale1 instance with the specified position and movement type.
@@ -77,10 +77,10 @@ public abstract class Student extends NPC {
 
     /**
      * Represents a specific female college student with its own sprite.
-     * This student uses the file `Sprites/CollegeFemale2.png` as its sprite.
+     * This student uses the file `sprites/CollegeFemale2.png` as its sprite.
      */
     public static class CollegeFemale2 extends Student {
-        private static final String fileName = "Sprites/CollegeFemale2.png";
+        private static final String fileName = "sprites/CollegeFemale2.png";
 
         /**
          * Constructs a CollegeFemale2 instance with the specified position and movement type.
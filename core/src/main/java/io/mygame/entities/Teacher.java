@@ -19,10 +19,10 @@ public abstract class Teacher extends NPC {
 
     /**
      * Represents a specific male teacher with its own sprite.
-     * This teacher uses the file `Sprites/MaleTeacher.png` as its sprite.
+     * This teacher uses the file `sprites/MaleTeacher.png` as its sprite.
      */
     public static class MaleTeacher extends Teacher {
-        private static final String fileName = "Sprites/MaleTeacher.png";
+        private static final String fileName = "sprites/MaleTeacher.png";
 
         /**
          * Constructs a MaleTeacher instance with the specified position and movement type.
@@ -38,10 +38,10 @@ public abstract class Teacher extends NPC {
 
     /**
      * Represents a specific female teacher with its own sprite.
-     * This teacher uses the file `Sprites/FemaleTeacher.png` as its sprite.
+     * This teacher uses the file `sprites/FemaleTeacher.png` as its sprite.
      */
     public static class FemaleTeacher extends Teacher {
-        private static final String fileName = "Sprites/FemaleTeacher.png";
+        private static final String fileName = "sprites/FemaleTeacher.png";
 
         /**
          * Constructs a FemaleTeacher instance with the specified position and movement type.
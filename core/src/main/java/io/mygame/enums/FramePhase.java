@@ -0,0 +1,44 @@
+package io.mygame.enums;
+
+/**
+ * Enum representing the phases of a game screen frame that are timed by the frame profiler. Sub-phases are
+ * indented under the phase they are part of, so the overlay reads as a tree.
+ */
+public enum FramePhase {
+    FRAME("frame"),
+    DRAW("draw"),
+    DRAW_BACKGROUND("  background"),
+    DRAW_ENTITIES("  entities"),
+    DRAW_OVERLAY("  overlay"),
+    DRAW_FOREGROUND("  foreground"),
+    INPUT("input"),
+    ENTITY_LOGIC("entity logic"),
+    PLAYER_COLLISION("  player collision"),
+    NPC_UPDATE("  npc update"),
+    NPC_COLLISION("  npc collision"),
+    MAP_SIGNS("map signs"),
+    DIALOGUE("dialogue"),
+    MAIN_UI("main ui"),
+    DIALOGUE_UI("dialogue ui");
+
+    /************ DISPLAY ************/
+    private final String label;
+
+    /**
+     * Constructs a frame phase.
+     *
+     * @param label the name of the phase shown in the overlay
+     */
+    FramePhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the name of the phase shown in the overlay.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,45 @@
+package io.mygame.enums;
+
+/**
+ * Enum representing the categories of sound effects, each with its own volume and limit of voices that can
+ * play at the same time.
+ */
+public enum SoundCategory {
+    FOOTSTEPS(2, 1.0f),
+    UI(4, 1.0f),
+    AMBIENCE(1, 0.2f),
+    ENVIRONMENT(4, 0.6f);
+
+    /************ PLAYBACK LIMITS ************/
+    private final int maxVoices;
+    private final float defaultVolume;
+
+    /**
+     * Constructs a sound category.
+     *
+     * @param maxVoices     the number of sounds of the category that can play at the same time
+     * @param defaultVolume the volume of the category before it is changed
+     */
+    SoundCategory(int maxVoices, float defaultVolume) {
+        this.maxVoices = maxVoices;
+        this.defaultVolume = defaultVolume;
+    }
+
+    /**
+     * Gets the number of sounds of the category that can play at the same time.
+     *
+     * @return the voice limit
+     */
+    public int getMaxVoices() {
+        return maxVoices;
+    }
+
+    /**
+     * Gets the volume of the category before it is changed.
+     *
+     * @return the default volume between 0 and 1
+     */
+    public float getDefaultVolume() {
+        return defaultVolume;
+    }
+}
@@ -4,18 +4,23 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Cursor;
 import com.badlogic.gdx.graphics.Pixmap;
+import io.mygame.common.GameAssets;
 import io.mygame.screens.MainMenuScreen;
 
 /**
- * Main entry point of the game that sets a custom cursor and initializes the main menu screen.
+ * Main entry point of the game that starts decoding the menu images, sets a custom cursor and initializes the
+ * main menu screen.
  */
 public class GameLauncher extends Game {
 
     /**
-     * Sets up a custom cursor and initializes the main menu screen.
+     * Starts decoding the menu images, sets up a custom cursor and initializes the main menu screen.
      */
     @Override
     public void create() {
+        // The menu images decode on every core while the window and cursor are set up
+        GameAssets.getInstance().decodeMenuAssets();
+
         Pixmap cursor = new Pixmap(Gdx.files.internal("cursor/cursor.png"));
         Cursor customCursor = Gdx.graphics.newCursor(cursor, 4, 4);
         Gdx.graphics.setCursor(customCursor);
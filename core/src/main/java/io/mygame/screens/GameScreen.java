@@ -7,20 +7,28 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
+import io.mygame.common.BinaryMapLoader;
+import io.mygame.common.ChunkedMap;
 import io.mygame.common.CollisionHandler;
+import io.mygame.common.FrameProfiler;
+import io.mygame.common.GameAssets;
 import io.mygame.common.GameManager;
 import io.mygame.common.MapHandler;
-import io.mygame.entities.Entity;
+import io.mygame.common.NpcScheduler;
+import io.mygame.common.PositionalAudio;
+import io.mygame.common.RenderQueue;
+import io.mygame.common.TextureCache;
 import io.mygame.entities.NPC;
 import io.mygame.factories.NPCFactory;
 import io.mygame.entities.Player;
+import io.mygame.enums.FramePhase;
 import io.mygame.ui.DialogueUI;
 import io.mygame.ui.MainGameUI;
 import io.mygame.ui.UI;
@@ -39,6 +47,7 @@ public class GameScreen extends WildCatScreen {
     /************ ENTITY ************/
     private Player player;
     private List<NPC> npcs;
+    private NpcScheduler npcScheduler;
 
     /************ COLLISION HANDLER ************/
     private CollisionHandler collisionHandler;
@@ -54,6 +63,8 @@ public class GameScreen extends WildCatScreen {
     /************ MAP HANDLING ************/
     private MapHandler mapHandler;
     private TiledMap map;
+    private String mapPath;
+    private ChunkedMap chunkedMap;
 
     /************ GAME STATE ************/
     private boolean isPaused = false;
@@ -62,12 +73,18 @@ public class GameScreen extends WildCatScreen {
     /************ SOUND HANDLING ************/
     private float footstepTimer = 0f;
     private static final float FOOTSTEP_DELAY = 0.5f;
+    private static final float NPC_FOOTSTEP_DELAY = 0.55f;
+    private PositionalAudio positionalAudio;
 
     /************ GAME MANAGEMENT ************/
     private static final GameManager gameManagerInstance = GameManager.getInstance();
 
     /************ RENDERING ************/
     private final ShapeRenderer shapeRenderer = new ShapeRenderer();
+    private RenderQueue renderQueue;
+
+    /************ PROFILING ************/
+    private FrameProfiler profiler;
 
     /************ SOUND HANDLING ************/
     private boolean isExplorationDone = false;
@@ -88,8 +105,8 @@ public class GameScreen extends WildCatScreen {
     public void show() {
         ScreenViewport sharedViewport = new ScreenViewport();
 
-        map = new TmxMapLoader().load("PixelMaps/TestMap.tmx");
-        mapHandler = new MapHandler(map);
+        map = loadMap();
+        mapHandler = chunkedMap != null ? new MapHandler(chunkedMap) : new MapHandler(map);
         camera = new OrthographicCamera();
         int WORLD_HEIGHT = 360;
         int SCREEN_WIDTH = 640;
@@ -97,14 +114,60 @@ public class GameScreen extends WildCatScreen {
 
         batch = new SpriteBatch();
         player = new Player();
+        profiler = new FrameProfiler();
+
+        npcs = new ArrayList<>();
+
+        npcs = NPCFactory.createNPCs();
+        npcScheduler = new NpcScheduler(npcs);
+        renderQueue = new RenderQueue();
+        renderQueue.add(player);
+        for (NPC npc : npcs) {
+            renderQueue.add(npc);
+        }
+
+        // No NPC has sounds of its own yet, so walking NPCs are heard through the footstep effects if enabled
+        positionalAudio = new PositionalAudio(gameManagerInstance.getSoundManager());
+        if (gameManagerInstance.getNpcFootsteps()) {
+            for (NPC npc : npcs) {
+                positionalAudio.addEmitter(npc, "walk", NPC_FOOTSTEP_DELAY, true);
+            }
+        }
+
+        if (chunkedMap != null) {
+            // The regions around the spawn point are loaded up front so the player never starts without collisions
+            chunkedMap.preload(player.getX() + 8, player.getY() + 16);
+            collisionHandler = new CollisionHandler(player, npcs, chunkedMap, camera);
+        } else {
+            collisionHandler = new CollisionHandler(player, npcs, map, camera);
+        }
 
+        // The UIs put the interaction input in front of their stages, so it needs the collision handler first
         dialogueUI = new DialogueUI(sharedViewport, this, game);
         mainGameUI = new MainGameUI(sharedViewport,this, game);
 
-        npcs = new ArrayList<>();
+        // Every preloaded asset is now referenced by the screen itself
+        GameAssets.getInstance().releasePreloaded();
+    }
 
-        npcs = NPCFactory.createNPCs();
-        collisionHandler = new CollisionHandler(player, npcs, map, camera);
+    /**
+     * Loads the campus map chosen by {@link GameAssets#getMapPath()}. A chunked map is opened as
+     * {@link #chunkedMap}, a binary map is memory-mapped, and a TMX map is taken from the shared assets,
+     * where it is usually already loaded by the intro screen's preload.
+     *
+     * @return the loaded map
+     */
+    private TiledMap loadMap() {
+        mapPath = GameAssets.getInstance().getMapPath();
+
+        if (mapPath.equals(GameAssets.CHUNKED_MAP_PATH)) {
+            chunkedMap = new ChunkedMap(mapPath);
+            return chunkedMap.getMap();
+        }
+        if (mapPath.equals(GameAssets.BINARY_MAP_PATH)) {
+            return new BinaryMapLoader().load(mapPath);
+        }
+        return GameAssets.getInstance().acquireMap(mapPath);
     }
 
     /**
@@ -114,18 +177,42 @@ public class GameScreen extends WildCatScreen {
      */
     @Override
     public void render(float delta) {
+        profiler.beginFrame();
+
+        profiler.begin(FramePhase.DRAW);
         draw();
+        profiler.end(FramePhase.DRAW);
 
         if(!isPaused) {
+            profiler.begin(FramePhase.INPUT);
             input(delta);
-            entityLogic();
+            profiler.end(FramePhase.INPUT);
+
+            profiler.begin(FramePhase.ENTITY_LOGIC);
+            entityLogic(delta);
+            profiler.end(FramePhase.ENTITY_LOGIC);
+
+            positionalAudio.update(player.getX() + 8, player.getY() + 16, delta);
         }
 
+        collisionHandler.pollInteractionInput();
+        profiler.begin(FramePhase.MAP_SIGNS);
         mapSignLogic();
+        profiler.end(FramePhase.MAP_SIGNS);
+
+        profiler.begin(FramePhase.DIALOGUE);
         dialogueLogic();
+        profiler.end(FramePhase.DIALOGUE);
 
+        profiler.begin(FramePhase.MAIN_UI);
         mainGameUI.render();
+        profiler.end(FramePhase.MAIN_UI);
+
+        profiler.begin(FramePhase.DIALOGUE_UI);
         dialogueUI.render();
+        profiler.end(FramePhase.DIALOGUE_UI);
+
+        profiler.endFrame(delta);
     }
 
     /**
@@ -135,27 +222,24 @@ public class GameScreen extends WildCatScreen {
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
+        profiler.begin(FramePhase.DRAW_BACKGROUND);
         camera.position.set(player.getX() + 8, player.getY() + 16, 0);
         camera.update();
+        if (chunkedMap != null) chunkedMap.update(camera.position.x, camera.position.y);
         viewport.apply();
 
         batch.setProjectionMatrix(camera.combined);
         mapHandler.loadBackground(camera);
+        profiler.end(FramePhase.DRAW_BACKGROUND);
 
+        profiler.begin(FramePhase.DRAW_ENTITIES);
         batch.begin();
         player.update();
-
-        List<Entity> renderQueue = new ArrayList<>();
-        renderQueue.add(player);
-        renderQueue.addAll(npcs);
-
-        renderQueue.sort((a, b) -> Float.compare(b.getY(), a.getY()));
-
-        for (Entity obj : renderQueue) {
-            obj.render(batch);
-        }
+        renderQueue.render(batch, camera);
         batch.end();
+        profiler.end(FramePhase.DRAW_ENTITIES);
 
+        profiler.begin(FramePhase.DRAW_OVERLAY);
         Gdx.gl.glEnable(GL20.GL_BLEND);
         Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
@@ -166,8 +250,11 @@ public class GameScreen extends WildCatScreen {
         shapeRenderer.end();
 
         Gdx.gl.glDisable(GL20.GL_BLEND);
+        profiler.end(FramePhase.DRAW_OVERLAY);
 
+        profiler.begin(FramePhase.DRAW_FOREGROUND);
         mapHandler.loadForeground();
+        profiler.end(FramePhase.DRAW_FOREGROUND);
     }
 
     /**
@@ -218,16 +305,24 @@ public class GameScreen extends WildCatScreen {
 
     /**
      * Contains game logic updates, including collision handling and player bounding box updates.
+     * NPCs away from the screen are updated at reduced rates by the {@link NpcScheduler}.
+     *
+     * @param delta the time in seconds since the last frame
      */
-    private void entityLogic() {
+    private void entityLogic(float delta) {
+        profiler.begin(FramePhase.PLAYER_COLLISION);
         player.updateBoundingBox(player.getX(), player.getY());
         collisionHandler.handlePlayerCollision();
+        profiler.end(FramePhase.PLAYER_COLLISION);
 
-        for(NPC npc : npcs){
-            npc.update();
-        }
+        profiler.begin(FramePhase.NPC_UPDATE);
+        npcScheduler.update(camera, delta);
+        profiler.end(FramePhase.NPC_UPDATE);
 
-        collisionHandler.handleNpcCollision();
+        profiler.begin(FramePhase.NPC_COLLISION);
+        collisionHandler.handleNpcCollision(npcScheduler.getUpdated());
+        npcScheduler.rebucket();
+        profiler.end(FramePhase.NPC_COLLISION);
 
         if(gameManagerInstance.getNpcFound() == 6 && gameManagerInstance.getBuildingsFound() == 12 &&
             !isExplorationDone) {
@@ -291,10 +386,21 @@ public class GameScreen extends WildCatScreen {
     @Override
     public void dispose() {
         mainGameUI.dispose();
+        dialogueUI.dispose();
         batch.dispose();
-        map.dispose();
+        if (chunkedMap != null) chunkedMap.dispose();
+        else if (mapPath.equals(GameAssets.BINARY_MAP_PATH)) map.dispose();
+        else GameAssets.getInstance().release(mapPath);
         collisionHandler.dispose();
         mapHandler.dispose();
+        positionalAudio.dispose();
+        profiler.dispose();
+
+        for (NPC npc : npcs) {
+            npc.dispose();
+        }
+        player.dispose();
+        TextureCache.getInstance().dispose();
     }
 
     /**
@@ -314,4 +420,15 @@ public class GameScreen extends WildCatScreen {
     public void changeScreen(Screen screen) {
         super.changeScreen(screen);
     }
+
+    /**
+     * Gets the input processor that listens for the interact key, which every UI of the screen puts in front of
+     * its stage. It never consumes events.
+     *
+     * @return the interaction input of the collision handler, or null before the handler is created
+     */
+    @Override
+    public InputProcessor getScreenInput() {
+        return collisionHandler != null ? collisionHandler.getInteractionInput() : null;
+    }
 }
@@ -1,10 +1,11 @@
 package io.mygame.screens;
 
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
 
 /**
  * Interface for managing screen transitions in the game.
- * Provides a method for changing the current screen.
+ * Provides a method for changing the current screen, and the input the screen listens to besides its UIs.
  */
 public interface ScreenState {
     /**
@@ -13,4 +14,15 @@ public interface ScreenState {
      * @param screen the new screen to transition to
      */
     void changeScreen(Screen screen);
+
+    /**
+     * Gets the input processor that listens ahead of the UI stages of the screen, such as for gameplay keys.
+     * Every {@link io.mygame.ui.UI} built for the screen puts it in front of its stage, so it must not consume
+     * events the stage needs.
+     *
+     * @return the screen's input processor, or null if the screen has none
+     */
+    default InputProcessor getScreenInput() {
+        return null;
+    }
 }
@@ -5,14 +5,15 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import io.mygame.common.GameAssets;
 import io.mygame.datahandler.JSONService;
 import io.mygame.datahandler.Serializable;
 import io.mygame.screens.GameScreen;
 import io.mygame.screens.ScreenState;
 
-import java.io.FileReader;
-import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -75,9 +76,9 @@ public class DialogueUI extends UI implements Serializable {
         JSONService jsonService = new JSONService();
         DialogueUI dialogues;
 
-        String dialogueJsonPath = "dialogues/dialogue.json";
-        try (FileReader fileReader = new FileReader(dialogueJsonPath)) {
-            dialogues = jsonService.deserialize(fileReader, DialogueUI.class);
+        // The dialogue file is usually already read by the intro screen's preload
+        try (StringReader reader = new StringReader(GameAssets.getInstance().acquireText(GameAssets.DIALOGUE_PATH))) {
+            dialogues = jsonService.deserialize(reader, DialogueUI.class);
             this.janitorDialogue = dialogues.janitorDialogue;
             this.guardDialogue = dialogues.guardDialogue;
             this.teacherDialogue = dialogues.teacherDialogue;
@@ -86,8 +87,10 @@ public class DialogueUI extends UI implements Serializable {
             this.petDialogue = dialogues.petDialogue;
 
             System.out.println(Arrays.toString(dialogues.janitorDialogue));
-        } catch (IOException e) {
+        } catch (GdxRuntimeException e) {
             System.err.println("DialogueUIManager: Failed to load dialogues json");
+        } finally {
+            GameAssets.getInstance().release(GameAssets.DIALOGUE_PATH);
         }
     }
 
@@ -9,6 +9,7 @@ import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Scaling;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import io.mygame.common.GameAssets;
 import io.mygame.datahandler.GameDataHandler;
 import io.mygame.screens.GameScreen;
 import io.mygame.screens.MainMenuScreen;
@@ -34,9 +35,11 @@ public class IntroGameUI extends UI {
     private boolean instructionOneDone;
     private boolean instructionTwoDone;
 
-    /************ LOADING AND TIME TRACKING ************/
+    /************ ASSET LOADING ************/
+    private final GameAssets gameAssets;
+    private boolean isPreloading;
     private boolean isLoading;
-    private float elapsedTime;
+    private Label progressLabel;
 
     /**
      * Constructs an IntroGameUI instance with the provided screen state and game reference.
@@ -46,6 +49,7 @@ public class IntroGameUI extends UI {
      */
     public IntroGameUI(ScreenState screenState, Game game) {
         super(new ScreenViewport(), screenState, game);
+        gameAssets = GameAssets.getInstance();
 
         introUI();
     }
@@ -159,15 +163,26 @@ public class IntroGameUI extends UI {
     }
 
     /**
-     * Displays the loading screen and removes the third instruction screen if present.
+     * Displays the loading screen with the loading progress and removes the third instruction screen if present.
      */
     private void loadingScreen() {
         Table table = new Table();
         table.setFillParent(true);
 
+        Stack stack = new Stack();
+
         Image image = new Image(skin, "LoadingScreen");
         image.setScaling(Scaling.fill);
-        table.add(image);
+        stack.addActor(image);
+
+        Container<Label> progressContainer = new Container<>();
+        progressContainer.align(Align.bottom);
+        progressContainer.padBottom(40.0f);
+
+        progressLabel = new Label("Loading " + Math.round(gameAssets.getProgress() * 100) + "%", skin, "white");
+        progressContainer.setActor(progressLabel);
+        stack.addActor(progressContainer);
+        table.add(stack);
 
         if (instructionTable3 != null) {
             instructionTable3.remove();
@@ -196,6 +211,10 @@ public class IntroGameUI extends UI {
                 GameDataHandler.saveGameData();
                 introTable.remove();
 
+                // The game screen's assets load in the background while the instructions are read
+                gameAssets.preload();
+                isPreloading = true;
+
                 instructionUI1();
             }
         });
@@ -211,25 +230,30 @@ public class IntroGameUI extends UI {
 
     /**
      * Renders the UI, including handling the transition between instruction screens and loading screens.
+     * The game's assets keep loading for a short time slice every frame, and the game screen is only shown
+     * once they have all loaded.
      */
     @Override
     public void render() {
-        super.render();
+        boolean loaded = isPreloading && gameAssets.update();
 
         if (isLoading) {
-            elapsedTime += Gdx.graphics.getDeltaTime();
+            progressLabel.setText("Loading " + Math.round(gameAssets.getProgress() * 100) + "%");
+        }
 
-            loadingScreen();
+        super.render();
 
-            if (elapsedTime >= 0.1f) {
-                screenState.changeScreen(new GameScreen(getGame()));
+        if (isLoading) {
+            if (loaded) {
                 isLoading = false;
+                isPreloading = false;
+                screenState.changeScreen(new GameScreen(getGame()));
             }
         } else if (introTable.getParent() == null) {
             if (Gdx.input.isKeyJustPressed(Input.Keys.ANY_KEY)) {
                 if (instructionTwoDone) {
                     isLoading = true;
-                    elapsedTime = 0f; // Reset the timer
+                    loadingScreen();
                     gameManager.getSoundManager().addSound("click");
                 } else if (instructionOneDone) {
                     gameManager.getSoundManager().addSound("click");
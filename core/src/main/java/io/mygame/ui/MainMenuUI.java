@@ -4,12 +4,15 @@ import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.badlogic.gdx.utils.viewport.ScreenViewport;
+import io.mygame.common.GameAssets;
 import io.mygame.datahandler.GameDataHandler;
 import io.mygame.screens.GameScreen;
 import io.mygame.screens.IntroScreen;
@@ -25,7 +28,11 @@ import java.io.File;
 public class MainMenuUI extends UI {
     /************ UI ELEMENTS AND GRAPHICS ************/
     private SpriteBatch batch;
-    private Texture background;
+    private TextureRegion background;
+
+    /************ SHARED ASSETS ************/
+    private final GameAssets gameAssets = GameAssets.getInstance();
+    private String backgroundSource;
 
     /************ BUTTONS ************/
     private TextButton startBtn;
@@ -47,11 +54,11 @@ public class MainMenuUI extends UI {
      * Initializes the UI elements for the main menu, including buttons and background.
      */
     private void mainMenuUI() {
-        background = new Texture("images/main_menu_bg.png");
+        loadBackground();
         batch = new SpriteBatch();
 
-        Skin yellowSkin = new Skin(Gdx.files.internal("skins/main_menu_button/yellow/yellow.json"));
-        Skin redSkin = new Skin(Gdx.files.internal("skins/main_menu_button/red/red.json"));
+        Skin yellowSkin = gameAssets.acquire(GameAssets.YELLOW_SKIN, Skin.class);
+        Skin redSkin = gameAssets.acquire(GameAssets.RED_SKIN, Skin.class);
 
         File dataDirectory = new File(GameDataHandler.dataDirectory);
 
@@ -78,6 +85,23 @@ public class MainMenuUI extends UI {
         buttonListener();
     }
 
+    /**
+     * Loads the menu background from the packed menu atlas, or from the loose image
+     * when the atlas has not been packed yet.
+     */
+    private void loadBackground() {
+        if (Gdx.files.internal(GameAssets.MENU_ATLAS).exists()) {
+            backgroundSource = GameAssets.MENU_ATLAS;
+            background = gameAssets.acquire(GameAssets.MENU_ATLAS, TextureAtlas.class).findRegion("main_menu_bg");
+        }
+
+        if (background == null) {
+            if (backgroundSource != null) gameAssets.release(backgroundSource);
+            backgroundSource = GameAssets.MENU_BACKGROUND;
+            background = new TextureRegion(gameAssets.acquire(GameAssets.MENU_BACKGROUND, Texture.class));
+        }
+    }
+
     /**
      * Adds listeners for the buttons to handle user interaction.
      */
@@ -125,8 +149,10 @@ public class MainMenuUI extends UI {
      */
     @Override
     public void dispose() {
-        skin.dispose();
-        stage.dispose();
+        super.dispose();
         batch.dispose();
+        gameAssets.release(GameAssets.YELLOW_SKIN);
+        gameAssets.release(GameAssets.RED_SKIN);
+        gameAssets.release(backgroundSource);
     }
 }
@@ -2,9 +2,12 @@ package io.mygame.ui;
 
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import io.mygame.common.GameAssets;
 import io.mygame.common.GameManager;
 import io.mygame.screens.ScreenState;
 
@@ -28,7 +31,8 @@ public abstract class UI {
 
     /**
      * Constructs the UI object with the provided viewport, screen state, and game instance.
-     * Initializes the stage, skin, and game manager, and sets the input processor for the stage.
+     * Initializes the stage, skin, and game manager, and sets the input processor for the stage, behind the
+     * screen's own input processor if it has one.
      *
      * @param viewport The viewport for the stage.
      * @param screenState The screen state for tracking the current screen.
@@ -36,8 +40,9 @@ public abstract class UI {
      */
     public UI(Viewport viewport, ScreenState screenState, Game game) {
         stage = new Stage(viewport);
-        Gdx.input.setInputProcessor(stage);
-        skin = new Skin(Gdx.files.internal("skins/uiSkins/ui.json"));
+        InputProcessor screenInput = screenState.getScreenInput();
+        Gdx.input.setInputProcessor(screenInput != null ? new InputMultiplexer(screenInput, stage) : stage);
+        skin = GameAssets.getInstance().acquireSkin();
 
         gameManager = GameManager.getInstance();
 
@@ -64,10 +69,10 @@ public abstract class UI {
     }
 
     /**
-     * Disposes of the resources used by the UI, including the skin and stage.
+     * Disposes of the resources used by the UI, including the stage, and releases the shared skin.
      */
     public void dispose() {
-        skin.dispose();
+        GameAssets.getInstance().release(GameAssets.UI_SKIN);
         stage.dispose();
     }
 
@@ -0,0 +1,319 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Offline map optimization step that flattens stacked static tile layers into as few layers as possible.
+ * The game draws every background layer in document order, then the entities, then every foreground layer, so
+ * consecutive layers of the same pass can be composited into one without changing the picture. Each cell of a
+ * merged run is reduced to a single tile: a cell covered by one fully opaque layer keeps its original tile, and
+ * any other stack is composited once, with its flips and layer opacities applied, into a new tile that is shared
+ * by every cell with the same stack.
+ * <p>
+ * A layer is only merged when it is visible, has no offset, parallax or tint, is not inside a group, has no
+ * properties besides {@code type} and uses no tiles with properties or animations. Any other layer is kept as
+ * it is and splits the run around it, so the drawing order of the pass is preserved.
+ * <p>
+ * Usage: {@code LayerFlattener <input.tmx> <output.tmx> <output.png>}
+ */
+public class LayerFlattener {
+    /************ SOURCE MAP ************/
+    private final TmxDocument map;
+    private final TileSource sources;
+    private final int tileWidth, tileHeight;
+
+    /************ COMPOSITE TILESET ************/
+    private final int firstGid;
+    private final ObjectIntMap<String> composites;
+    private final Array<int[]> compositePixels;
+
+    /************ SCRATCH ************/
+    private final int[] tilePixels;
+    private final float[] accumulator;
+    private final StringBuilder key;
+
+    /**
+     * Entry point of the flattening tool.
+     *
+     * @param args the input map, the output map and the output tileset image
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: LayerFlattener <input.tmx> <output.tmx> <output.png>");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        LayerFlattener flattener = new LayerFlattener(TmxDocument.read(new File(args[0])));
+        int before = flattener.map.getTileLayers().size;
+        int after = flattener.flatten(new File(args[1]), new File(args[2]));
+        System.out.println("Flattened " + before + " tile layers of " + args[0] + " into " + after + " with " +
+            flattener.compositePixels.size + " composite tiles in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Constructs a LayerFlattener for a map and reads all of its tilesets.
+     *
+     * @param map the map to flatten
+     */
+    public LayerFlattener(TmxDocument map) {
+        this.map = map;
+        this.sources = new TileSource(map);
+        this.tileWidth = map.getRoot().getIntAttribute("tilewidth");
+        this.tileHeight = map.getRoot().getIntAttribute("tileheight");
+
+        this.firstGid = sources.getNextGid();
+        this.composites = new ObjectIntMap<>();
+        this.compositePixels = new Array<>();
+
+        this.tilePixels = new int[tileWidth * tileHeight];
+        this.accumulator = new float[tileWidth * tileHeight * 4];
+        this.key = new StringBuilder();
+    }
+
+    /**
+     * Merges the layers of both passes, then writes the composite tileset image and the rewritten map.
+     *
+     * @param outputMap   the file receiving the rewritten map
+     * @param outputImage the file receiving the composite tileset image
+     * @return the number of tile layers left in the map
+     */
+    public int flatten(File outputMap, File outputImage) {
+        Array<XmlReader.Element> layers = map.getTileLayers();
+        flattenPass(layers, false);
+        flattenPass(layers, true);
+
+        if (compositePixels.notEmpty()) {
+            TilePage page = new TilePage(tileWidth, tileHeight, compositePixels.size);
+            for (int i = 0; i < compositePixels.size; i++) {
+                page.put(i, compositePixels.get(i));
+            }
+            page.write(outputImage);
+            addTileset(page.createTileset(map.getRoot(), firstGid, outputMap, outputImage));
+        }
+
+        map.write(outputMap);
+        return map.getTileLayers().size;
+    }
+
+    /**
+     * Merges every run of consecutive mergeable layers of one render pass.
+     *
+     * @param layers     all tile layers of the map in document order
+     * @param foreground true to flatten the foreground pass, false for the background pass
+     */
+    private void flattenPass(Array<XmlReader.Element> layers, boolean foreground) {
+        Array<XmlReader.Element> run = new Array<>();
+        int merged = 0;
+
+        for (XmlReader.Element layer : layers) {
+            if (isForeground(layer) != foreground) continue;
+
+            if (isMergeable(layer)) {
+                run.add(layer);
+            } else {
+                if (run.size > 1) mergeRun(run, foreground, ++merged);
+                run.clear();
+            }
+        }
+        if (run.size > 1) mergeRun(run, foreground, ++merged);
+    }
+
+    /**
+     * Checks whether a layer is drawn in the foreground pass, using the same rule as the game's MapHandler.
+     *
+     * @param layer the tile layer element
+     * @return true if the layer is a foreground layer
+     */
+    private static boolean isForeground(XmlReader.Element layer) {
+        return "foreground".equals(TmxDocument.getProperty(layer, "type"));
+    }
+
+    /**
+     * Checks whether a layer can be composited with its neighbours without changing how it is drawn.
+     *
+     * @param layer the tile layer element
+     * @return true if the layer can be merged
+     */
+    private boolean isMergeable(XmlReader.Element layer) {
+        if (layer.getParent() != map.getRoot()) return false;
+        if (layer.getIntAttribute("visible", 1) == 0) return false;
+        if (layer.getFloatAttribute("offsetx", 0f) != 0f || layer.getFloatAttribute("offsety", 0f) != 0f) {
+            return false;
+        }
+        if (layer.getFloatAttribute("parallaxx", 1f) != 1f || layer.getFloatAttribute("parallaxy", 1f) != 1f) {
+            return false;
+        }
+        if (layer.getAttribute("tintcolor", null) != null) return false;
+        if (layer.getIntAttribute("width") != map.getWidth() || layer.getIntAttribute("height") != map.getHeight()) {
+            return false;
+        }
+
+        XmlReader.Element properties = layer.getChildByName("properties");
+        if (properties != null) {
+            for (XmlReader.Element property : properties.getChildrenByName("property")) {
+                if (!property.getAttribute("name").equals("type")) return false;
+            }
+        }
+
+        // Tiles with properties or animations would lose them once composited
+        for (int gid : TmxDocument.readCsv(layer)) {
+            if (gid == 0) continue;
+            int id = gid & TmxDocument.GID_MASK;
+            if (sources.find(id).getTileElement(id) != null) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces a run of layers by a single layer, stored in the element of the first layer of the run.
+     *
+     * @param run        the layers to merge in drawing order
+     * @param foreground true if the run belongs to the foreground pass
+     * @param index      the number of the merged layer within its pass, used in its name
+     */
+    private void mergeRun(Array<XmlReader.Element> run, boolean foreground, int index) {
+        int[][] data = new int[run.size][];
+        float[] opacity = new float[run.size];
+        for (int i = 0; i < run.size; i++) {
+            data[i] = TmxDocument.readCsv(run.get(i));
+            opacity[i] = run.get(i).getFloatAttribute("opacity", 1f);
+        }
+
+        int[] merged = new int[data[0].length];
+        for (int cell = 0; cell < merged.length; cell++) {
+            merged[cell] = mergeCell(data, opacity, cell);
+        }
+
+        XmlReader.Element target = run.first();
+        target.setAttribute("name", (foreground ? "Flattened Foreground " : "Flattened Background ") + index);
+        if (target.getAttributes() != null) target.getAttributes().remove("opacity");
+        TmxDocument.writeCsv(target, merged);
+
+        for (int i = 1; i < run.size; i++) {
+            map.getRoot().removeChild(run.get(i));
+        }
+    }
+
+    /**
+     * Reduces the stack of tiles at one cell to a single global tile id.
+     *
+     * @param data    the cell data of every layer in the run
+     * @param opacity the opacity of every layer in the run
+     * @param cell    the index of the cell
+     * @return the global tile id to store in the merged layer, or 0 for an empty cell
+     */
+    private int mergeCell(int[][] data, float[] opacity, int cell) {
+        int count = 0, single = 0;
+        key.setLength(0);
+        for (int layer = 0; layer < data.length; layer++) {
+            int gid = data[layer][cell];
+            if (gid == 0) continue;
+            count++;
+            single = layer;
+            key.append(Integer.toHexString(gid)).append('@').append(Float.floatToIntBits(opacity[layer])).append(';');
+        }
+
+        if (count == 0) return 0;
+        if (count == 1 && opacity[single] == 1f) return data[single][cell];
+
+        String stack = key.toString();
+        int existing = composites.get(stack, -1);
+        if (existing >= 0) return firstGid + existing;
+
+        int index = compositePixels.size;
+        compositePixels.add(composite(data, opacity, cell));
+        composites.put(stack, index);
+        return firstGid + index;
+    }
+
+    /**
+     * Composites the tiles at one cell from the bottom layer up with the source-over operator.
+     *
+     * @param data    the cell data of every layer in the run
+     * @param opacity the opacity of every layer in the run
+     * @param cell    the index of the cell
+     * @return the composited ARGB pixels in row-major order, top row first
+     */
+    private int[] composite(int[][] data, float[] opacity, int cell) {
+        Arrays.fill(accumulator, 0f);
+
+        for (int layer = 0; layer < data.length; layer++) {
+            int gid = data[layer][cell];
+            if (gid == 0) continue;
+
+            boolean flipH = (gid & 0x80000000) != 0;
+            boolean flipV = (gid & 0x40000000) != 0;
+            boolean flipD = (gid & 0x20000000) != 0;
+            if (flipD && tileWidth != tileHeight) {
+                throw new RuntimeException("Error: Diagonally flipped tiles must be square to be flattened");
+            }
+            sources.getPixels(gid & TmxDocument.GID_MASK, tileWidth, tileHeight, tilePixels);
+
+            for (int y = 0; y < tileHeight; y++) {
+                for (int x = 0; x < tileWidth; x++) {
+                    // Tiled applies the diagonal flip first, so the lookup undoes vertical, horizontal, diagonal
+                    int sx = x, sy = y;
+                    if (flipV) sy = tileHeight - 1 - sy;
+                    if (flipH) sx = tileWidth - 1 - sx;
+                    if (flipD) {
+                        int temp = sx;
+                        sx = sy;
+                        sy = temp;
+                    }
+
+                    int argb = tilePixels[sy * tileWidth + sx];
+                    float alpha = (argb >>> 24) / 255f * opacity[layer];
+                    if (alpha == 0f) continue;
+
+                    // Premultiplied source-over: out = src + dst * (1 - srcAlpha)
+                    int offset = (y * tileWidth + x) * 4;
+                    float keep = 1f - alpha;
+                    accumulator[offset] = alpha + accumulator[offset] * keep;
+                    accumulator[offset + 1] = ((argb >> 16) & 0xFF) / 255f * alpha + accumulator[offset + 1] * keep;
+                    accumulator[offset + 2] = ((argb >> 8) & 0xFF) / 255f * alpha + accumulator[offset + 2] * keep;
+                    accumulator[offset + 3] = (argb & 0xFF) / 255f * alpha + accumulator[offset + 3] * keep;
+                }
+            }
+        }
+
+        int[] pixels = new int[tileWidth * tileHeight];
+        for (int i = 0; i < pixels.length; i++) {
+            float alpha = accumulator[i * 4];
+            if (alpha <= 0f) continue;
+            int a = Math.round(alpha * 255f);
+            int r = Math.min(255, Math.round(accumulator[i * 4 + 1] / alpha * 255f));
+            int g = Math.min(255, Math.round(accumulator[i * 4 + 2] / alpha * 255f));
+            int b = Math.min(255, Math.round(accumulator[i * 4 + 3] / alpha * 255f));
+            pixels[i] = a << 24 | r << 16 | g << 8 | b;
+        }
+        return pixels;
+    }
+
+    /**
+     * Adds the composite tileset to the map after the existing tilesets.
+     *
+     * @param tileset the composite tileset element
+     */
+    private void addTileset(XmlReader.Element tileset) {
+        XmlReader.Element root = map.getRoot();
+
+        // Elements cannot be inserted at an index, so the children are re-added in order
+        Array<XmlReader.Element> children = new Array<>();
+        int insertAt = 0;
+        for (int i = 0; i < root.getChildCount(); i++) {
+            XmlReader.Element child = root.getChild(i);
+            children.add(child);
+            if (child.getName().equals("tileset") || child.getName().equals("properties")) insertAt = i + 1;
+        }
+        while (root.getChildCount() > 0) root.removeChild(0);
+
+        children.insert(insertAt, tileset);
+        for (XmlReader.Element child : children) root.addChild(child);
+    }
+}
@@ -0,0 +1,302 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.XmlReader;
+import io.mygame.common.BinaryMapLoader;
+import io.mygame.common.ChunkedMap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Build-time converter from a Tiled TMX map to the chunked map format streamed by {@link ChunkedMap}.
+ * The header is written with the same encodings as {@link MapCompiler}, and the map is then cut into square
+ * regions of a fixed number of tiles. Each region record holds the occupied cells of every tile layer inside
+ * the region and every object whose bounds overlap it, so an object spanning a region border is stored in each
+ * region it touches. Regions without cells or objects are not stored at all.
+ * <p>
+ * Usage: {@code MapChunker <input.tmx> <output> [regionSize]}
+ */
+public class MapChunker {
+    /************ REGIONS ************/
+    public static final int DEFAULT_REGION_SIZE = 32;
+    private static final int MAX_REGION_SIZE = 256;
+
+    /************ SOURCE MAP ************/
+    private final TmxDocument map;
+    private final MapCompiler compiler;
+    private final int regionSize;
+    private final int tileWidth, tileHeight;
+
+    /************ LAYERS ************/
+    private final Array<XmlReader.Element> tileLayers;
+    private final Array<XmlReader.Element> objectLayers;
+
+    /**
+     * Entry point of the map chunker.
+     *
+     * @param args the input map, the output file and optionally the region size in tiles
+     */
+    public static void main(String[] args) {
+        if (args.length != 2 && args.length != 3) {
+            System.err.println("Usage: MapChunker <input.tmx> <output> [regionSize]");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        int regionSize = args.length == 3 ? Integer.parseInt(args[2]) : DEFAULT_REGION_SIZE;
+        File output = new File(args[1]);
+        int stored = new MapChunker(TmxDocument.read(new File(args[0])), regionSize).chunk(output);
+        System.out.println("Chunked " + args[0] + " into " + stored + " regions of " + regionSize + " tiles, " +
+            output.length() + " bytes in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Constructs a MapChunker for a map.
+     *
+     * @param map        the map to chunk
+     * @param regionSize the width and height of a region in tiles
+     * @throws RuntimeException if the region size cannot be encoded
+     */
+    public MapChunker(TmxDocument map, int regionSize) {
+        if (regionSize < 1 || regionSize > MAX_REGION_SIZE) {
+            throw new RuntimeException("Error: Region size must be between 1 and " + MAX_REGION_SIZE);
+        }
+
+        this.map = map;
+        this.compiler = new MapCompiler(map);
+        this.regionSize = regionSize;
+        this.tileWidth = map.getRoot().getIntAttribute("tilewidth");
+        this.tileHeight = map.getRoot().getIntAttribute("tileheight");
+        this.tileLayers = new Array<>();
+        this.objectLayers = new Array<>();
+    }
+
+    /**
+     * Cuts the map into regions and writes the chunked file.
+     *
+     * @param output the file receiving the chunked map
+     * @return the number of regions stored in the file
+     * @throws RuntimeException if the map uses a feature the binary format does not support or the file
+     *                          cannot be written
+     */
+    public int chunk(File output) {
+        compiler.buildPalette();
+
+        int columns = (map.getWidth() + regionSize - 1) / regionSize;
+        int rows = (map.getHeight() + regionSize - 1) / regionSize;
+        int stored = 0;
+
+        try {
+            // The header is built first, since the region offsets in it depend on its own size
+            ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+            DataOutputStream header = new DataOutputStream(headerBytes);
+            header.writeInt(ChunkedMap.MAGIC);
+            header.writeInt(ChunkedMap.VERSION);
+            compiler.writeHeader(header);
+            header.writeInt(regionSize);
+            writeLayers(header, map.getRoot());
+            header.writeInt(columns);
+            header.writeInt(rows);
+
+            int[][] data = new int[tileLayers.size][];
+            for (int i = 0; i < tileLayers.size; i++) {
+                data[i] = TmxDocument.readCsv(tileLayers.get(i));
+            }
+            Array<Array<float[]>> bounds = new Array<>();
+            for (XmlReader.Element layer : objectLayers) {
+                Array<float[]> layerBounds = new Array<>();
+                for (XmlReader.Element object : layer.getChildrenByName("object")) {
+                    layerBounds.add(getBounds(object));
+                }
+                bounds.add(layerBounds);
+            }
+
+            byte[][] records = new byte[columns * rows][];
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    byte[] record = writeRegion(column, row, data, bounds);
+                    records[row * columns + column] = record;
+                    if (record != null) stored++;
+                }
+            }
+
+            int offset = header.size() + records.length * 8;
+            for (byte[] record : records) {
+                header.writeInt(record != null ? offset : 0);
+                header.writeInt(record != null ? record.length : 0);
+                if (record != null) offset += record.length;
+            }
+
+            try (BufferedOutputStream out = new BufferedOutputStream(Files.newOutputStream(output.toPath()))) {
+                headerBytes.writeTo(out);
+                for (byte[] record : records) {
+                    if (record != null) out.write(record);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("IOException: Failed to write " + output + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+        return stored;
+    }
+
+    /**
+     * Writes the layer structure below an element without cells or objects, and collects the tile and object
+     * layers in the order the chunked map reads them.
+     *
+     * @param out    the output stream
+     * @param parent the map or group element
+     * @throws IOException if writing fails
+     */
+    private void writeLayers(DataOutputStream out, XmlReader.Element parent) throws IOException {
+        int count = 0;
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            if (MapCompiler.getLayerKind(parent.getChild(i)) >= 0) count++;
+        }
+        out.writeInt(count);
+
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            XmlReader.Element layer = parent.getChild(i);
+            byte kind = MapCompiler.getLayerKind(layer);
+            if (kind < 0) continue;
+
+            out.writeByte(kind);
+            compiler.writeLayerAttributes(out, layer);
+
+            switch (kind) {
+                case BinaryMapLoader.LAYER_TILE -> {
+                    if (layer.getIntAttribute("width") != map.getWidth() ||
+                        layer.getIntAttribute("height") != map.getHeight()) {
+                        throw new RuntimeException("Error: Layer '" + layer.getAttribute("name", "") +
+                            "' does not cover the whole map, which the chunked format does not support");
+                    }
+                    tileLayers.add(layer);
+                }
+                case BinaryMapLoader.LAYER_OBJECT -> objectLayers.add(layer);
+                default -> writeLayers(out, layer);
+            }
+        }
+    }
+
+    /**
+     * Encodes the cells and objects of one region.
+     *
+     * @param column the column of the region
+     * @param row    the row of the region, counted from the bottom of the map
+     * @param data   the cells of every tile layer in TMX order, top row first
+     * @param bounds the bounds of every object of every object layer
+     * @return the region record, or null if the region holds no cells and no objects
+     * @throws IOException if writing fails
+     */
+    private byte[] writeRegion(int column, int row, int[][] data, Array<Array<float[]>> bounds) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        boolean empty = true;
+
+        int firstColumn = column * regionSize;
+        int firstRow = row * regionSize;
+        int width = Math.min(regionSize, map.getWidth() - firstColumn);
+        int height = Math.min(regionSize, map.getHeight() - firstRow);
+        IntArray cells = new IntArray();
+
+        for (int[] layer : data) {
+            cells.clear();
+            for (int y = 0; y < height; y++) {
+                // TMX rows run from the top, while region rows run from the bottom like the game world
+                int tmxRow = map.getHeight() - 1 - (firstRow + y);
+                for (int x = 0; x < width; x++) {
+                    int gid = layer[tmxRow * map.getWidth() + firstColumn + x];
+                    if (gid == 0) continue;
+                    cells.add(y * regionSize + x);
+                    cells.add(compiler.getPaletteIndex(gid));
+                }
+            }
+
+            out.writeInt(cells.size / 2);
+            for (int i = 0; i < cells.size; i++) {
+                out.writeShort(cells.get(i));
+            }
+            if (cells.notEmpty()) empty = false;
+        }
+
+        // The region's area in TMX pixels, where y runs down from the top of the map
+        float left = firstColumn * tileWidth;
+        float right = (firstColumn + width) * tileWidth;
+        float top = (map.getHeight() - firstRow - height) * tileHeight;
+        float bottom = (map.getHeight() - firstRow) * tileHeight;
+
+        for (int layer = 0; layer < objectLayers.size; layer++) {
+            Array<XmlReader.Element> objects = objectLayers.get(layer).getChildrenByName("object");
+            Array<float[]> layerBounds = bounds.get(layer);
+
+            int count = 0;
+            for (float[] box : layerBounds) {
+                if (overlaps(box, left, top, right, bottom)) count++;
+            }
+            out.writeInt(count);
+
+            for (int i = 0; i < objects.size; i++) {
+                if (overlaps(layerBounds.get(i), left, top, right, bottom)) compiler.writeObject(out, objects.get(i));
+            }
+            if (count > 0) empty = false;
+        }
+        return empty ? null : bytes.toByteArray();
+    }
+
+    /**
+     * Computes the bounds of an object in TMX pixels. Rotated objects get a square around their origin that
+     * contains them at any rotation.
+     *
+     * @param object the object element
+     * @return the left, top, right and bottom edges
+     */
+    private static float[] getBounds(XmlReader.Element object) {
+        float x = object.getFloatAttribute("x", 0f);
+        float y = object.getFloatAttribute("y", 0f);
+        float minX = 0f, minY = 0f;
+        float maxX = object.getFloatAttribute("width", 0f);
+        float maxY = object.getFloatAttribute("height", 0f);
+
+        XmlReader.Element points = object.getChildByName("polygon");
+        if (points == null) points = object.getChildByName("polyline");
+        if (points != null) {
+            maxX = 0f;
+            maxY = 0f;
+            for (String pair : points.getAttribute("points").trim().split(" ")) {
+                String[] point = pair.split(",");
+                float px = Float.parseFloat(point[0]);
+                float py = Float.parseFloat(point[1]);
+                minX = Math.min(minX, px);
+                minY = Math.min(minY, py);
+                maxX = Math.max(maxX, px);
+                maxY = Math.max(maxY, py);
+            }
+        }
+
+        if (object.getFloatAttribute("rotation", 0f) != 0f) {
+            float radius = (float) Math.sqrt(Math.max(minX * minX, maxX * maxX) + Math.max(minY * minY, maxY * maxY));
+            return new float[] {x - radius, y - radius, x + radius, y + radius};
+        }
+        return new float[] {x + minX, y + minY, x + maxX, y + maxY};
+    }
+
+    /**
+     * Checks whether object bounds touch an area. Touching edges count, so an object on a border is never lost.
+     *
+     * @param box    the left, top, right and bottom edges of the object
+     * @param left   the left edge of the area
+     * @param top    the top edge of the area
+     * @param right  the right edge of the area
+     * @param bottom the bottom edge of the area
+     * @return true if the bounds and the area overlap
+     */
+    private static boolean overlaps(float[] box, float left, float top, float right, float bottom) {
+        return box[0] <= right && box[2] >= left && box[1] <= bottom && box[3] >= top;
+    }
+}
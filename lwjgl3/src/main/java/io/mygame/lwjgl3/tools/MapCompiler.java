@@ -0,0 +1,394 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.XmlReader;
+import io.mygame.common.BinaryMapLoader;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Build-time converter from a Tiled TMX map to the binary map format read by {@link BinaryMapLoader}.
+ * External tilesets are resolved and their image paths are rewritten relative to the map file, tile layers
+ * are stored as {@code short} indices into a palette of the global tile ids the map uses, and objects are
+ * stored with their points already parsed, so loading the map at runtime needs no XML or CSV parsing.
+ * <p>
+ * Usage: {@code MapCompiler <input.tmx> <output>}
+ */
+public class MapCompiler {
+    /************ SOURCE MAP ************/
+    private final TmxDocument map;
+
+    /************ TILE PALETTE ************/
+    private final IntIntMap palette;
+    private final IntArray paletteGids;
+
+    /**
+     * Entry point of the map compiler.
+     *
+     * @param args the input map and the output file
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: MapCompiler <input.tmx> <output>");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        File output = new File(args[1]);
+        new MapCompiler(TmxDocument.read(new File(args[0]))).compile(output);
+        System.out.println("Compiled " + args[0] + " to " + output.length() + " bytes in " +
+            (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Constructs a MapCompiler for a map.
+     *
+     * @param map the map to compile
+     */
+    public MapCompiler(TmxDocument map) {
+        this.map = map;
+        this.palette = new IntIntMap();
+        this.paletteGids = new IntArray();
+    }
+
+    /**
+     * Compiles the map and writes the binary file.
+     *
+     * @param output the file receiving the binary map
+     * @throws RuntimeException if the map uses a feature the binary format does not support or the file
+     *                          cannot be written
+     */
+    public void compile(File output) {
+        buildPalette();
+
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(output.toPath())))) {
+            out.writeInt(BinaryMapLoader.MAGIC);
+            out.writeInt(BinaryMapLoader.VERSION);
+            writeHeader(out);
+            writeLayers(out, map.getRoot());
+        } catch (IOException e) {
+            System.err.println("IOException: Failed to write " + output + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Collects the global tile ids used by the tile layers into the palette.
+     * Must be called before the header is written.
+     *
+     * @throws RuntimeException if the map is not orthogonal or uses too many distinct tiles
+     */
+    void buildPalette() {
+        if (!"orthogonal".equals(map.getRoot().getAttribute("orientation", "orthogonal"))) {
+            throw new RuntimeException("Error: Only orthogonal maps can be compiled");
+        }
+
+        for (XmlReader.Element layer : map.getTileLayers()) {
+            for (int gid : TmxDocument.readCsv(layer)) {
+                if (gid != 0 && !palette.containsKey(gid)) {
+                    paletteGids.add(gid);
+                    palette.put(gid, paletteGids.size);
+                }
+            }
+        }
+        if (paletteGids.size > 0xFFFF) {
+            throw new RuntimeException("Error: " + paletteGids.size + " distinct tiles do not fit in short indices");
+        }
+    }
+
+    /**
+     * Gets the palette index of a global tile id.
+     *
+     * @param gid the global tile id with flip flags
+     * @return the palette index, or 0 for an empty cell
+     */
+    int getPaletteIndex(int gid) {
+        return gid == 0 ? 0 : palette.get(gid, 0);
+    }
+
+    /**
+     * Writes the map size, the map properties, the tilesets and the palette.
+     *
+     * @param out the output stream
+     * @throws IOException if writing fails
+     */
+    void writeHeader(DataOutputStream out) throws IOException {
+        XmlReader.Element root = map.getRoot();
+        out.writeInt(map.getWidth());
+        out.writeInt(map.getHeight());
+        out.writeInt(root.getIntAttribute("tilewidth"));
+        out.writeInt(root.getIntAttribute("tileheight"));
+        writeString(out, root.getAttribute("orientation", null));
+        writeProperties(out, root);
+
+        writeTilesets(out, root);
+
+        out.writeInt(paletteGids.size);
+        for (int i = 0; i < paletteGids.size; i++) {
+            out.writeInt(paletteGids.get(i));
+        }
+    }
+
+    /**
+     * Writes the tilesets, resolving external TSX files.
+     *
+     * @param out  the output stream
+     * @param root the map element
+     * @throws IOException if writing fails
+     */
+    private void writeTilesets(DataOutputStream out, XmlReader.Element root) throws IOException {
+        Path mapDirectory = map.getDirectory().toPath();
+        Array<XmlReader.Element> references = root.getChildrenByName("tileset");
+        out.writeInt(references.size);
+
+        for (XmlReader.Element reference : references) {
+            XmlReader.Element tileset = reference;
+            Path directory = mapDirectory;
+            String tsx = reference.getAttribute("source", null);
+            if (tsx != null) {
+                File tsxFile = mapDirectory.resolve(tsx).toFile();
+                tileset = TmxDocument.parse(tsxFile);
+                directory = tsxFile.getParentFile().toPath();
+            }
+
+            XmlReader.Element image = tileset.getChildByName("image");
+            if (image == null) {
+                throw new RuntimeException("Error: Tileset '" + tileset.getAttribute("name", "") +
+                    "' is an image collection, which the binary format does not support");
+            }
+            if (tileset.getChildByName("tile") != null) {
+                throw new RuntimeException("Error: Tileset '" + tileset.getAttribute("name", "") +
+                    "' has per-tile data, which the binary format does not support");
+            }
+
+            XmlReader.Element offset = tileset.getChildByName("tileoffset");
+            Path imagePath = mapDirectory.relativize(directory.resolve(image.getAttribute("source")).normalize());
+
+            writeString(out, tileset.getAttribute("name", null));
+            out.writeInt(reference.getIntAttribute("firstgid"));
+            out.writeInt(tileset.getIntAttribute("tilewidth"));
+            out.writeInt(tileset.getIntAttribute("tileheight"));
+            out.writeInt(tileset.getIntAttribute("margin", 0));
+            out.writeInt(tileset.getIntAttribute("spacing", 0));
+            out.writeInt(offset != null ? offset.getIntAttribute("x", 0) : 0);
+            out.writeInt(offset != null ? offset.getIntAttribute("y", 0) : 0);
+            writeString(out, imagePath.toString().replace('\\', '/'));
+        }
+    }
+
+    /**
+     * Writes the layers below an element in document order.
+     *
+     * @param out    the output stream
+     * @param parent the map or group element
+     * @throws IOException if writing fails
+     */
+    private void writeLayers(DataOutputStream out, XmlReader.Element parent) throws IOException {
+        int count = 0;
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            if (getLayerKind(parent.getChild(i)) >= 0) count++;
+        }
+        out.writeInt(count);
+
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            XmlReader.Element layer = parent.getChild(i);
+            byte kind = getLayerKind(layer);
+            if (kind < 0) continue;
+
+            out.writeByte(kind);
+            writeLayerAttributes(out, layer);
+
+            switch (kind) {
+                case BinaryMapLoader.LAYER_TILE -> writeTileLayer(out, layer);
+                case BinaryMapLoader.LAYER_OBJECT -> writeObjects(out, layer);
+                default -> writeLayers(out, layer);
+            }
+        }
+    }
+
+    /**
+     * Writes the attributes and properties shared by every layer kind.
+     *
+     * @param out   the output stream
+     * @param layer the layer element
+     * @throws IOException if writing fails
+     */
+    void writeLayerAttributes(DataOutputStream out, XmlReader.Element layer) throws IOException {
+        writeString(out, layer.getAttribute("name", null));
+        out.writeFloat(layer.getFloatAttribute("opacity", 1f));
+        out.writeBoolean(layer.getIntAttribute("visible", 1) == 1);
+        out.writeFloat(layer.getFloatAttribute("offsetx", 0f));
+        out.writeFloat(layer.getFloatAttribute("offsety", 0f));
+        out.writeFloat(layer.getFloatAttribute("parallaxx", 1f));
+        out.writeFloat(layer.getFloatAttribute("parallaxy", 1f));
+        writeProperties(out, layer);
+    }
+
+    /**
+     * Gets the binary layer kind of an element.
+     *
+     * @param element a child of the map or of a group
+     * @return the layer kind, or -1 if the element is not a supported layer
+     * @throws RuntimeException if the element is an image layer
+     */
+    static byte getLayerKind(XmlReader.Element element) {
+        return switch (element.getName()) {
+            case "layer" -> BinaryMapLoader.LAYER_TILE;
+            case "objectgroup" -> BinaryMapLoader.LAYER_OBJECT;
+            case "group" -> BinaryMapLoader.LAYER_GROUP;
+            case "imagelayer" -> throw new RuntimeException("Error: Image layers are not supported by the binary format");
+            default -> -1;
+        };
+    }
+
+    /**
+     * Writes the cells of a tile layer as palette indices.
+     *
+     * @param out   the output stream
+     * @param layer the tile layer element
+     * @throws IOException if writing fails
+     */
+    private void writeTileLayer(DataOutputStream out, XmlReader.Element layer) throws IOException {
+        if (layer.getIntAttribute("width") != map.getWidth() || layer.getIntAttribute("height") != map.getHeight()) {
+            throw new RuntimeException("Error: Layer '" + layer.getAttribute("name", "") +
+                "' does not match the map size");
+        }
+
+        for (int gid : TmxDocument.readCsv(layer)) {
+            out.writeShort(getPaletteIndex(gid));
+        }
+    }
+
+    /**
+     * Writes the objects of an object layer with their coordinates as stored in the TMX file.
+     *
+     * @param out   the output stream
+     * @param layer the object layer element
+     * @throws IOException if writing fails
+     */
+    private void writeObjects(DataOutputStream out, XmlReader.Element layer) throws IOException {
+        Array<XmlReader.Element> objects = layer.getChildrenByName("object");
+        out.writeInt(objects.size);
+
+        for (XmlReader.Element object : objects) {
+            writeObject(out, object);
+        }
+    }
+
+    /**
+     * Writes a single object with its coordinates as stored in the TMX file.
+     *
+     * @param out    the output stream
+     * @param object the object element
+     * @throws IOException if writing fails
+     */
+    void writeObject(DataOutputStream out, XmlReader.Element object) throws IOException {
+        if (object.getAttribute("gid", null) != null || object.getChildByName("point") != null ||
+            object.getChildByName("text") != null) {
+            throw new RuntimeException("Error: Object " + object.getAttribute("id", "") +
+                " is a tile, point or text object, which the binary format does not support");
+        }
+
+        XmlReader.Element points = object.getChildByName("polygon");
+        byte shape = BinaryMapLoader.SHAPE_POLYGON;
+        if (points == null) {
+            points = object.getChildByName("polyline");
+            shape = BinaryMapLoader.SHAPE_POLYLINE;
+        }
+        if (points == null) {
+            shape = object.getChildByName("ellipse") != null ? BinaryMapLoader.SHAPE_ELLIPSE :
+                BinaryMapLoader.SHAPE_RECTANGLE;
+        }
+
+        out.writeByte(shape);
+        out.writeInt(object.getIntAttribute("id", 0));
+        writeString(out, object.getAttribute("name", null));
+        writeString(out, object.getAttribute("type", null));
+        out.writeFloat(object.getFloatAttribute("x", 0f));
+        out.writeFloat(object.getFloatAttribute("y", 0f));
+        out.writeFloat(object.getFloatAttribute("width", 0f));
+        out.writeFloat(object.getFloatAttribute("height", 0f));
+        out.writeFloat(object.getFloatAttribute("rotation", Float.NaN));
+        out.writeBoolean(object.getIntAttribute("visible", 1) == 1);
+
+        if (points != null) {
+            String[] pairs = points.getAttribute("points").trim().split(" ");
+            out.writeInt(pairs.length);
+            for (String pair : pairs) {
+                String[] point = pair.split(",");
+                out.writeFloat(Float.parseFloat(point[0]));
+                out.writeFloat(Float.parseFloat(point[1]));
+            }
+        }
+        writeProperties(out, object);
+    }
+
+    /**
+     * Writes the properties of an element with their types.
+     * Properties of types other than int, float and bool are stored as strings.
+     *
+     * @param out     the output stream
+     * @param element the element owning the properties
+     * @throws IOException if writing fails
+     */
+    private static void writeProperties(DataOutputStream out, XmlReader.Element element) throws IOException {
+        XmlReader.Element properties = element.getChildByName("properties");
+        if (properties == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        Array<XmlReader.Element> entries = properties.getChildrenByName("property");
+        out.writeInt(entries.size);
+        for (XmlReader.Element property : entries) {
+            String value = property.getAttribute("value", property.getText());
+            writeString(out, property.getAttribute("name"));
+
+            switch (property.getAttribute("type", "string")) {
+                case "int" -> {
+                    out.writeByte(BinaryMapLoader.PROPERTY_INT);
+                    out.writeInt(Integer.parseInt(value));
+                }
+                case "float" -> {
+                    out.writeByte(BinaryMapLoader.PROPERTY_FLOAT);
+                    out.writeFloat(Float.parseFloat(value));
+                }
+                case "bool" -> {
+                    out.writeByte(BinaryMapLoader.PROPERTY_BOOL);
+                    out.writeBoolean(Boolean.parseBoolean(value));
+                }
+                default -> {
+                    out.writeByte(BinaryMapLoader.PROPERTY_STRING);
+                    writeString(out, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     *
+     * @param out   the output stream
+     * @param value the string, or null
+     * @throws IOException if writing fails
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
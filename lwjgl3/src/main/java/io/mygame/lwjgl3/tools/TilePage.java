@@ -0,0 +1,119 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.XmlReader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A generated tileset image that tiles are written into by the offline map tools.
+ * Tiles are laid out in a roughly square grid with a one pixel margin and a two pixel spacing, and the edge
+ * pixels of every tile are extruded into that gap so that nearest filtering at fractional camera positions never
+ * samples a neighbouring tile.
+ */
+public class TilePage {
+    /************ LAYOUT ************/
+    public static final int MARGIN = 1;
+    public static final int SPACING = 2;
+    public static final int MAX_PAGE_SIZE = 4096;
+
+    /************ PAGE ************/
+    private final int tileWidth, tileHeight;
+    private final int tileCount;
+    private final int columns;
+    private final BufferedImage image;
+
+    /**
+     * Constructs an empty page large enough for the given number of tiles.
+     *
+     * @param tileWidth  the width of a tile in pixels
+     * @param tileHeight the height of a tile in pixels
+     * @param tileCount  the number of tiles the page must hold
+     * @throws RuntimeException if the tiles do not fit on a single page
+     */
+    public TilePage(int tileWidth, int tileHeight, int tileCount) {
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.tileCount = tileCount;
+
+        int strideX = tileWidth + SPACING;
+        int strideY = tileHeight + SPACING;
+        columns = Math.max(1, Math.min((int) Math.ceil(Math.sqrt(tileCount)),
+            (MAX_PAGE_SIZE - 2 * MARGIN + SPACING) / strideX));
+        int rows = Math.max(1, (tileCount + columns - 1) / columns);
+        int width = 2 * MARGIN + columns * strideX - SPACING;
+        int height = 2 * MARGIN + rows * strideY - SPACING;
+        if (height > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Error: " + tileCount + " tiles do not fit on a single " +
+                MAX_PAGE_SIZE + "x" + MAX_PAGE_SIZE + " page");
+        }
+
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Writes a tile onto the page and extrudes its edges into the surrounding gap.
+     *
+     * @param index  the index of the tile on the page
+     * @param pixels {@code tileWidth * tileHeight} ARGB pixels in row-major order, top row first
+     */
+    public void put(int index, int[] pixels) {
+        int x = MARGIN + (index % columns) * (tileWidth + SPACING);
+        int y = MARGIN + (index / columns) * (tileHeight + SPACING);
+
+        for (int ty = -1; ty <= tileHeight; ty++) {
+            int sy = Math.max(0, Math.min(tileHeight - 1, ty));
+            for (int tx = -1; tx <= tileWidth; tx++) {
+                int sx = Math.max(0, Math.min(tileWidth - 1, tx));
+                image.setRGB(x + tx, y + ty, pixels[sy * tileWidth + sx]);
+            }
+        }
+    }
+
+    /**
+     * Writes the page as a PNG file.
+     *
+     * @param file the file to write
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void write(File file) {
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            ImageIO.write(image, "png", file);
+        } catch (IOException e) {
+            System.err.println("IOException: Failed to write " + file + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the embedded tileset element that references the page.
+     *
+     * @param parent   the map element the tileset belongs to
+     * @param firstGid the first global tile id of the tileset
+     * @param mapFile  the map file the image path is made relative to
+     * @param file     the file the page is written to
+     * @return the tileset element, with an image child but without per-tile data
+     */
+    public XmlReader.Element createTileset(XmlReader.Element parent, int firstGid, File mapFile, File file) {
+        XmlReader.Element tileset = new XmlReader.Element("tileset", parent);
+        tileset.setAttribute("firstgid", Integer.toString(firstGid));
+        tileset.setAttribute("name", file.getName().replaceFirst("\\.[^.]*$", ""));
+        tileset.setAttribute("tilewidth", Integer.toString(tileWidth));
+        tileset.setAttribute("tileheight", Integer.toString(tileHeight));
+        tileset.setAttribute("spacing", Integer.toString(SPACING));
+        tileset.setAttribute("margin", Integer.toString(MARGIN));
+        tileset.setAttribute("tilecount", Integer.toString(tileCount));
+        tileset.setAttribute("columns", Integer.toString(columns));
+
+        XmlReader.Element image = new XmlReader.Element("image", tileset);
+        image.setAttribute("source", mapFile.getAbsoluteFile().getParentFile().toPath()
+            .relativize(file.getAbsoluteFile().toPath()).toString().replace('\\', '/'));
+        image.setAttribute("width", Integer.toString(this.image.getWidth()));
+        image.setAttribute("height", Integer.toString(this.image.getHeight()));
+        tileset.addChild(image);
+        return tileset;
+    }
+}
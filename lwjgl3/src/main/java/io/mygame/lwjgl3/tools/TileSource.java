@@ -0,0 +1,192 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * The tilesets referenced by a TMX map, with access to the pixels of every tile.
+ * External TSX files are followed, and tileset images are decoded lazily on first access, so tools that only
+ * touch a few tilesets do not pay for decoding the large ones.
+ */
+public class TileSource {
+    /************ TILESETS ************/
+    private final Array<Tileset> tilesets;
+
+    /**
+     * A tileset referenced by the map together with its decoded image.
+     */
+    public static class Tileset {
+        String name;
+        int firstGid;
+        int tileCount;
+        int columns;
+        int tileWidth, tileHeight;
+        int margin, spacing;
+        File imageFile;
+        BufferedImage image;
+        final IntMap<XmlReader.Element> tiles = new IntMap<>();
+
+        /**
+         * Gets the first global tile id of the tileset.
+         *
+         * @return the first global tile id
+         */
+        public int getFirstGid() {
+            return firstGid;
+        }
+
+        /**
+         * Gets the element holding the properties or animation of a tile.
+         *
+         * @param gid the global tile id without flip flags
+         * @return the tile element, or null if the tile has no extra data
+         */
+        public XmlReader.Element getTileElement(int gid) {
+            return tiles.get(gid - firstGid);
+        }
+    }
+
+    /**
+     * Reads every tileset of a map.
+     *
+     * @param map the map whose tilesets to read
+     * @throws RuntimeException if a tileset is an image collection
+     */
+    public TileSource(TmxDocument map) {
+        tilesets = new Array<>();
+        for (XmlReader.Element reference : map.getRoot().getChildrenByName("tileset")) {
+            tilesets.add(readTileset(map, reference));
+        }
+        tilesets.sort((a, b) -> Integer.compare(a.firstGid, b.firstGid));
+    }
+
+    /**
+     * Reads a tileset reference of the map, following external TSX files.
+     *
+     * @param map       the map owning the reference
+     * @param reference the tileset element of the map
+     * @return the tileset
+     * @throws RuntimeException if the tileset is an image collection
+     */
+    private static Tileset readTileset(TmxDocument map, XmlReader.Element reference) {
+        Tileset tileset = new Tileset();
+        tileset.firstGid = reference.getIntAttribute("firstgid");
+
+        XmlReader.Element element = reference;
+        File directory = map.getDirectory();
+        String tsx = reference.getAttribute("source", null);
+        if (tsx != null) {
+            File tsxFile = new File(directory, tsx);
+            element = TmxDocument.parse(tsxFile);
+            directory = tsxFile.getParentFile();
+        }
+
+        XmlReader.Element image = element.getChildByName("image");
+        if (image == null) {
+            throw new RuntimeException("Error: Tileset '" + element.getAttribute("name", "") +
+                "' is an image collection, which is not supported");
+        }
+
+        tileset.name = element.getAttribute("name", null);
+        tileset.tileCount = element.getIntAttribute("tilecount");
+        tileset.columns = element.getIntAttribute("columns");
+        tileset.tileWidth = element.getIntAttribute("tilewidth");
+        tileset.tileHeight = element.getIntAttribute("tileheight");
+        tileset.margin = element.getIntAttribute("margin", 0);
+        tileset.spacing = element.getIntAttribute("spacing", 0);
+        tileset.imageFile = new File(directory, image.getAttribute("source"));
+
+        for (XmlReader.Element tile : element.getChildrenByName("tile")) {
+            tileset.tiles.put(tile.getIntAttribute("id"), tile);
+        }
+        return tileset;
+    }
+
+    /**
+     * Finds the tileset a global tile id belongs to.
+     *
+     * @param gid the global tile id without flip flags
+     * @return the tileset containing the tile
+     * @throws RuntimeException if no tileset contains the tile
+     */
+    public Tileset find(int gid) {
+        for (int i = tilesets.size - 1; i >= 0; i--) {
+            Tileset tileset = tilesets.get(i);
+            if (gid >= tileset.firstGid) {
+                if (gid - tileset.firstGid >= tileset.tileCount) break;
+                return tileset;
+            }
+        }
+        throw new RuntimeException("Error: Tile " + gid + " does not belong to any tileset");
+    }
+
+    /**
+     * Gets the first global tile id that is not used by any tileset of the map.
+     *
+     * @return the next free global tile id
+     */
+    public int getNextGid() {
+        int next = 1;
+        for (Tileset tileset : tilesets) {
+            next = Math.max(next, tileset.firstGid + tileset.tileCount);
+        }
+        return next;
+    }
+
+    /**
+     * Reads the pixels of a tile as it is stored in its tileset, without applying flip flags.
+     *
+     * @param gid        the global tile id without flip flags
+     * @param tileWidth  the expected tile width
+     * @param tileHeight the expected tile height
+     * @param out        receives {@code tileWidth * tileHeight} ARGB pixels in row-major order, top row first
+     * @throws RuntimeException if the tileset uses another tile size or its image cannot be read
+     */
+    public void getPixels(int gid, int tileWidth, int tileHeight, int[] out) {
+        Tileset tileset = find(gid);
+        if (tileset.tileWidth != tileWidth || tileset.tileHeight != tileHeight) {
+            throw new RuntimeException("Error: Tileset " + tileset.imageFile.getName() +
+                " does not use " + tileWidth + "x" + tileHeight + " tiles");
+        }
+
+        BufferedImage image = getImage(tileset);
+        int id = gid - tileset.firstGid;
+        int sourceX = tileset.margin + (id % tileset.columns) * (tileset.tileWidth + tileset.spacing);
+        int sourceY = tileset.margin + (id / tileset.columns) * (tileset.tileHeight + tileset.spacing);
+
+        for (int y = 0; y < tileHeight; y++) {
+            for (int x = 0; x < tileWidth; x++) {
+                int sx = sourceX + x, sy = sourceY + y;
+                out[y * tileWidth + x] = sx < image.getWidth() && sy < image.getHeight() ? image.getRGB(sx, sy) : 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the decoded image of a tileset, reading it on first use.
+     *
+     * @param tileset the tileset
+     * @return the tileset image
+     * @throws RuntimeException if the image cannot be read
+     */
+    private static BufferedImage getImage(Tileset tileset) {
+        if (tileset.image != null) return tileset.image;
+
+        try {
+            tileset.image = ImageIO.read(tileset.imageFile);
+        } catch (IOException e) {
+            System.err.println("IOException: Failed to read " + tileset.imageFile + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+        if (tileset.image == null) {
+            throw new RuntimeException("Error: " + tileset.imageFile + " is not a readable image");
+        }
+        return tileset.image;
+    }
+}
@@ -0,0 +1,234 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Offline map optimization step that trims the tilesets of a TMX map down to the tiles the map uses.
+ * Every tile referenced by a tile layer or a tile object is copied from its source tileset image into a single
+ * compact tileset image, and a copy of the map is written that references only that tileset. The source
+ * tilesets, in particular {@code Modern_Exteriors_Complete_Tileset} with its 69,344 tiles, are no longer
+ * loaded at runtime.
+ * <p>
+ * Tiles are laid out by {@link TilePage}, which extrudes the edges of every tile into the gap around it.
+ * <p>
+ * Usage: {@code TilesetTrimmer <input.tmx> <output.tmx> <output.png>}
+ */
+public class TilesetTrimmer {
+    /************ SOURCE MAP ************/
+    private final TmxDocument map;
+    private final TileSource sources;
+
+    /************ TRIMMED TILESET ************/
+    private final IntIntMap remap;
+    private int tileWidth, tileHeight;
+
+    /**
+     * Entry point of the trimming tool.
+     *
+     * @param args the input map, the output map and the output tileset image
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: TilesetTrimmer <input.tmx> <output.tmx> <output.png>");
+            System.exit(1);
+        }
+
+        long start = System.currentTimeMillis();
+        TilesetTrimmer trimmer = new TilesetTrimmer(TmxDocument.read(new File(args[0])));
+        int usedTiles = trimmer.trim(new File(args[1]), new File(args[2]));
+        System.out.println("Trimmed " + args[0] + " to " + usedTiles + " tiles in " +
+            (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Constructs a TilesetTrimmer for a map and reads all of its tilesets.
+     *
+     * @param map the map to trim
+     */
+    public TilesetTrimmer(TmxDocument map) {
+        this.map = map;
+        this.sources = new TileSource(map);
+        this.remap = new IntIntMap();
+    }
+
+    /**
+     * Writes the trimmed tileset image and the rewritten map.
+     *
+     * @param outputMap   the file receiving the rewritten map
+     * @param outputImage the file receiving the trimmed tileset image
+     * @return the number of tiles in the trimmed tileset
+     */
+    public int trim(File outputMap, File outputImage) {
+        IntSet used = collectUsedTiles();
+        int[] gids = used.iterator().toArray().toArray();
+        Arrays.sort(gids);
+
+        TileSource.Tileset first = sources.find(gids[0]);
+        tileWidth = first.tileWidth;
+        tileHeight = first.tileHeight;
+
+        for (int i = 0; i < gids.length; i++) {
+            remap.put(gids[i], i + 1);
+        }
+
+        TilePage page = new TilePage(tileWidth, tileHeight, gids.length);
+        int[] pixels = new int[tileWidth * tileHeight];
+        for (int i = 0; i < gids.length; i++) {
+            sources.getPixels(gids[i], tileWidth, tileHeight, pixels);
+            page.put(i, pixels);
+        }
+        page.write(outputImage);
+
+        rewriteMap(gids, page, outputMap, outputImage);
+        return gids.length;
+    }
+
+    /**
+     * Collects the global ids of every tile used by a tile layer, a tile object or an animation frame of
+     * another used tile.
+     *
+     * @return the used global tile ids without flip flags
+     */
+    private IntSet collectUsedTiles() {
+        IntSet used = new IntSet();
+
+        for (XmlReader.Element layer : map.getTileLayers()) {
+            for (int gid : TmxDocument.readCsv(layer)) {
+                if (gid != 0) used.add(gid & TmxDocument.GID_MASK);
+            }
+        }
+        for (XmlReader.Element object : map.getObjects()) {
+            String gid = object.getAttribute("gid", null);
+            if (gid != null) used.add((int) Long.parseLong(gid) & TmxDocument.GID_MASK);
+        }
+
+        // Animated tiles need all of their frames, which may not be placed on the map themselves
+        IntArray pending = used.iterator().toArray();
+        while (pending.notEmpty()) {
+            int gid = pending.pop();
+            TileSource.Tileset source = sources.find(gid);
+            XmlReader.Element tile = source.getTileElement(gid);
+            if (tile == null || tile.getChildByName("animation") == null) continue;
+
+            for (XmlReader.Element frame : tile.getChildByName("animation").getChildrenByName("frame")) {
+                int frameGid = source.getFirstGid() + frame.getIntAttribute("tileid");
+                if (used.add(frameGid)) pending.add(frameGid);
+            }
+        }
+
+        if (used.isEmpty()) throw new RuntimeException("Error: The map does not use any tiles");
+        return used;
+    }
+
+    /**
+     * Rewrites the map to reference only the trimmed tileset and writes it.
+     *
+     * @param gids        the used global tile ids in tileset order
+     * @param page        the trimmed tileset page
+     * @param outputMap   the file receiving the rewritten map
+     * @param outputImage the trimmed tileset image
+     */
+    private void rewriteMap(int[] gids, TilePage page, File outputMap, File outputImage) {
+        for (XmlReader.Element layer : map.getTileLayers()) {
+            int[] data = TmxDocument.readCsv(layer);
+            for (int i = 0; i < data.length; i++) {
+                data[i] = remapGid(data[i]);
+            }
+            TmxDocument.writeCsv(layer, data);
+        }
+        for (XmlReader.Element object : map.getObjects()) {
+            String gid = object.getAttribute("gid", null);
+            if (gid != null) {
+                object.setAttribute("gid", Integer.toUnsignedString(remapGid((int) Long.parseLong(gid))));
+            }
+        }
+
+        XmlReader.Element root = map.getRoot();
+        XmlReader.Element tileset = page.createTileset(root, 1, outputMap, outputImage);
+
+        for (int gid : gids) {
+            XmlReader.Element tile = copyTileElement(gid, tileset);
+            if (tile != null) tileset.addChild(tile);
+        }
+
+        // The tileset has to come before the layers, so the children are re-added in order
+        Array<XmlReader.Element> children = new Array<>();
+        for (int i = 0; i < root.getChildCount(); i++) {
+            XmlReader.Element child = root.getChild(i);
+            if (!child.getName().equals("tileset")) children.add(child);
+        }
+        while (root.getChildCount() > 0) root.removeChild(0);
+
+        int insertAt = 0;
+        while (insertAt < children.size && children.get(insertAt).getName().equals("properties")) insertAt++;
+        children.insert(insertAt, tileset);
+        for (XmlReader.Element child : children) root.addChild(child);
+
+        map.write(outputMap);
+    }
+
+    /**
+     * Maps a global tile id of the source map to the trimmed tileset, keeping its flip flags.
+     *
+     * @param gid the source global tile id, possibly with flip flags
+     * @return the trimmed global tile id, or 0 for an empty cell
+     */
+    private int remapGid(int gid) {
+        if (gid == 0) return 0;
+        return remap.get(gid & TmxDocument.GID_MASK, 0) | (gid & TmxDocument.FLIP_FLAGS);
+    }
+
+    /**
+     * Copies the properties and animation of a source tile, renumbered for the trimmed tileset.
+     *
+     * @param gid    the source global tile id without flip flags
+     * @param parent the trimmed tileset element
+     * @return the renumbered tile element, or null if the source tile has no extra data
+     */
+    private XmlReader.Element copyTileElement(int gid, XmlReader.Element parent) {
+        TileSource.Tileset source = sources.find(gid);
+        XmlReader.Element original = source.getTileElement(gid);
+        if (original == null) return null;
+
+        XmlReader.Element tile = deepCopy(original, parent);
+        tile.setAttribute("id", Integer.toString(remap.get(gid, 0) - 1));
+
+        XmlReader.Element animation = tile.getChildByName("animation");
+        if (animation != null) {
+            for (XmlReader.Element frame : animation.getChildrenByName("frame")) {
+                int frameGid = source.getFirstGid() + frame.getIntAttribute("tileid");
+                frame.setAttribute("tileid", Integer.toString(remap.get(frameGid, 0) - 1));
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Copies an element together with its attributes, text and children.
+     *
+     * @param element the element to copy
+     * @param parent  the parent of the copy
+     * @return the copy
+     */
+    private static XmlReader.Element deepCopy(XmlReader.Element element, XmlReader.Element parent) {
+        XmlReader.Element copy = new XmlReader.Element(element.getName(), parent);
+        if (element.getAttributes() != null) {
+            for (ObjectMap.Entry<String, String> attribute : element.getAttributes()) {
+                copy.setAttribute(attribute.key, attribute.value);
+            }
+        }
+        copy.setText(element.getText());
+        for (int i = 0; i < element.getChildCount(); i++) {
+            copy.addChild(deepCopy(element.getChild(i), copy));
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,305 @@
+package io.mygame.lwjgl3.tools;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * An editable in-memory copy of a Tiled TMX map used by the offline map tools.
+ * The document is parsed with libGDX's {@link XmlReader}, so it can be used without starting an application,
+ * and can be written back as a TMX file that both Tiled and {@code TmxMapLoader} can read.
+ * Only CSV encoded tile layers are supported, which is what the maps in this project use.
+ */
+public class TmxDocument {
+    /************ GID FLAGS ************/
+    public static final int FLIP_FLAGS = 0xF0000000;
+    public static final int GID_MASK = 0x0FFFFFFF;
+
+    /************ DOCUMENT ************/
+    private final File file;
+    private final XmlReader.Element root;
+
+    /**
+     * Constructs a TmxDocument from an already parsed root element.
+     *
+     * @param file the file the document was read from
+     * @param root the root {@code map} element
+     */
+    private TmxDocument(File file, XmlReader.Element root) {
+        this.file = file;
+        this.root = root;
+    }
+
+    /**
+     * Reads and parses a TMX file.
+     *
+     * @param file the TMX file to read
+     * @return the parsed document
+     * @throws RuntimeException if the file cannot be read or is not a TMX map
+     */
+    public static TmxDocument read(File file) {
+        XmlReader.Element root = parse(file);
+        if (!root.getName().equals("map")) {
+            throw new RuntimeException("Error: " + file + " is not a TMX map");
+        }
+        return new TmxDocument(file, root);
+    }
+
+    /**
+     * Parses an XML file such as a TMX map or a TSX tileset.
+     *
+     * @param file the file to parse
+     * @return the root element of the file
+     * @throws RuntimeException if the file cannot be read
+     */
+    public static XmlReader.Element parse(File file) {
+        try {
+            return new XmlReader().parse(new FileHandle(file));
+        } catch (Exception e) {
+            System.err.println("XmlException: Failed to parse " + file + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the root {@code map} element.
+     *
+     * @return the root element
+     */
+    public XmlReader.Element getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the directory the map was read from, which relative tileset and image paths are resolved against.
+     *
+     * @return the directory of the map file
+     */
+    public File getDirectory() {
+        return file.getAbsoluteFile().getParentFile();
+    }
+
+    /**
+     * Gets the map width in tiles.
+     *
+     * @return the map width
+     */
+    public int getWidth() {
+        return root.getIntAttribute("width");
+    }
+
+    /**
+     * Gets the map height in tiles.
+     *
+     * @return the map height
+     */
+    public int getHeight() {
+        return root.getIntAttribute("height");
+    }
+
+    /**
+     * Collects every tile layer in document order, including the layers nested in groups.
+     *
+     * @return the tile layer elements
+     */
+    public Array<XmlReader.Element> getTileLayers() {
+        Array<XmlReader.Element> layers = new Array<>();
+        collectTileLayers(root, layers);
+        return layers;
+    }
+
+    /**
+     * Recursively collects the tile layers below an element.
+     *
+     * @param parent the element to search
+     * @param layers the array receiving the tile layers
+     */
+    private static void collectTileLayers(XmlReader.Element parent, Array<XmlReader.Element> layers) {
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            XmlReader.Element child = parent.getChild(i);
+            if (child.getName().equals("layer")) {
+                layers.add(child);
+            } else if (child.getName().equals("group")) {
+                collectTileLayers(child, layers);
+            }
+        }
+    }
+
+    /**
+     * Collects every object in every object group, including the groups nested in layer groups.
+     *
+     * @return the object elements
+     */
+    public Array<XmlReader.Element> getObjects() {
+        Array<XmlReader.Element> objects = new Array<>();
+        for (XmlReader.Element group : root.getChildrenByNameRecursively("objectgroup")) {
+            objects.addAll(group.getChildrenByName("object"));
+        }
+        return objects;
+    }
+
+    /**
+     * Reads the global tile ids of a CSV encoded tile layer, including their flip flags.
+     *
+     * @param layer the tile layer element
+     * @return the tile ids in row-major order starting at the top-left cell
+     * @throws RuntimeException if the layer is not CSV encoded
+     */
+    public static int[] readCsv(XmlReader.Element layer) {
+        XmlReader.Element data = getCsvData(layer);
+        int[] gids = new int[layer.getIntAttribute("width") * layer.getIntAttribute("height")];
+
+        String text = data.getText();
+        if (text == null) return gids;
+
+        int index = 0;
+        long value = 0;
+        boolean hasValue = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                hasValue = true;
+            } else if (c == ',' && hasValue) {
+                gids[index++] = (int) value;
+                value = 0;
+                hasValue = false;
+            }
+        }
+        if (hasValue) gids[index] = (int) value;
+        return gids;
+    }
+
+    /**
+     * Replaces the tile ids of a CSV encoded tile layer.
+     *
+     * @param layer the tile layer element
+     * @param gids  the tile ids in row-major order starting at the top-left cell
+     * @throws RuntimeException if the layer is not CSV encoded
+     */
+    public static void writeCsv(XmlReader.Element layer, int[] gids) {
+        XmlReader.Element data = getCsvData(layer);
+        int width = layer.getIntAttribute("width");
+
+        StringBuilder text = new StringBuilder(gids.length * 2 + 2);
+        text.append('\n');
+        for (int i = 0; i < gids.length; i++) {
+            text.append(Integer.toUnsignedString(gids[i]));
+            if (i < gids.length - 1) text.append(',');
+            if ((i + 1) % width == 0) text.append('\n');
+        }
+        data.setText(text.toString());
+    }
+
+    /**
+     * Gets the CSV data element of a tile layer.
+     *
+     * @param layer the tile layer element
+     * @return the data element
+     * @throws RuntimeException if the layer is not CSV encoded
+     */
+    private static XmlReader.Element getCsvData(XmlReader.Element layer) {
+        XmlReader.Element data = layer.getChildByName("data");
+        if (data == null || !"csv".equals(data.getAttribute("encoding", null))) {
+            throw new RuntimeException("Error: Layer '" + layer.getAttribute("name", "") + "' is not CSV encoded");
+        }
+        return data;
+    }
+
+    /**
+     * Reads a string property of an element, such as the {@code type} property of a layer.
+     *
+     * @param element the element owning the properties
+     * @param name    the property name
+     * @return the property value, or null if the property is not set
+     */
+    public static String getProperty(XmlReader.Element element, String name) {
+        XmlReader.Element properties = element.getChildByName("properties");
+        if (properties == null) return null;
+
+        for (XmlReader.Element property : properties.getChildrenByName("property")) {
+            if (name.equals(property.getAttribute("name", null))) {
+                return property.getAttribute("value", property.getText());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Writes the document as a TMX file.
+     *
+     * @param output the file to write
+     * @throws RuntimeException if the file cannot be written
+     */
+    public void write(File output) {
+        try (Writer writer = Files.newBufferedWriter(output.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            writeElement(writer, root, 0);
+        } catch (IOException e) {
+            System.err.println("IOException: Failed to write " + output + ": " + e.getMessage());
+            throw new RuntimeException("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes an element and its children with Tiled's single-space indentation.
+     *
+     * @param writer  the writer to write to
+     * @param element the element to write
+     * @param depth   the nesting depth of the element
+     * @throws IOException if the writer fails
+     */
+    private static void writeElement(Writer writer, XmlReader.Element element, int depth) throws IOException {
+        writer.write(" ".repeat(depth));
+        writer.write('<');
+        writer.write(element.getName());
+
+        ObjectMap<String, String> attributes = element.getAttributes();
+        if (attributes != null) {
+            for (ObjectMap.Entry<String, String> attribute : attributes) {
+                writer.write(' ');
+                writer.write(attribute.key);
+                writer.write("=\"");
+                writer.write(escape(attribute.value));
+                writer.write('"');
+            }
+        }
+
+        String text = element.getText();
+        if (element.getChildCount() == 0 && text == null) {
+            writer.write("/>\n");
+            return;
+        }
+
+        writer.write('>');
+        if (text != null) writer.write(escape(text));
+
+        if (element.getChildCount() > 0) {
+            writer.write('\n');
+            for (int i = 0; i < element.getChildCount(); i++) {
+                writeElement(writer, element.getChild(i), depth + 1);
+            }
+            writer.write(" ".repeat(depth));
+        }
+        writer.write("</");
+        writer.write(element.getName());
+        writer.write(">\n");
+    }
+
+    /**
+     * Escapes the XML special characters of a text or attribute value.
+     *
+     * @param value the raw value
+     * @return the escaped value
+     */
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}